@@ -3,14 +3,20 @@ package pages;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.Alert;
-import java.time.Duration;
+import utils.AbsenceProbe;
+import utils.DialogMode;
+import utils.DriverManager;
+import utils.PageNavigator;
+import utils.SyntheticDialogs;
+import utils.WaitEngine;
+import java.util.List;
 
 public class AlertsPage {
     private WebDriver driver;
-    private WebDriverWait wait;
+    private WaitEngine wait;
+    private DialogMode dialogMode = DialogMode.getDefault();
 
     // Selectors untuk JavaScript Alerts page
     private By jsAlertButton = By.xpath("//button[text()='Click for JS Alert']");
@@ -18,62 +24,127 @@ public class AlertsPage {
     private By jsPromptButton = By.xpath("//button[text()='Click for JS Prompt']");
     private By resultText = By.id("result");
 
+    public AlertsPage() {
+        this(DriverManager.getDriver());
+    }
+
     public AlertsPage(WebDriver driver) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        this.wait = new WaitEngine(driver);
     }
 
     public void navigateToAlerts() {
-        driver.get("https://the-internet.herokuapp.com/javascript_alerts");
+        PageNavigator.open(driver, PageNavigator.url("/javascript_alerts"));
     }
 
     public void clickJSAlert() {
-        WebElement alertBtn = wait.until(ExpectedConditions.elementToBeClickable(jsAlertButton));
+        WebElement alertBtn = wait.until(jsAlertButton, ExpectedConditions::elementToBeClickable);
         alertBtn.click();
     }
 
     public void clickJSConfirm() {
-        WebElement confirmBtn = wait.until(ExpectedConditions.elementToBeClickable(jsConfirmButton));
+        WebElement confirmBtn = wait.until(jsConfirmButton, ExpectedConditions::elementToBeClickable);
         confirmBtn.click();
     }
 
     public void clickJSPrompt() {
-        WebElement promptBtn = wait.until(ExpectedConditions.elementToBeClickable(jsPromptButton));
+        WebElement promptBtn = wait.until(jsPromptButton, ExpectedConditions::elementToBeClickable);
         promptBtn.click();
     }
 
+    /**
+     * NATIVE answers the real browser dialog, SYNTHETIC answers through scripted window.alert/confirm/prompt
+     */
+    public AlertsPage setDialogMode(DialogMode dialogMode) {
+        this.dialogMode = dialogMode;
+        return this;
+    }
+
+    /**
+     * Open the JS alert and accept it
+     */
+    public SyntheticDialogs.Dialog handleJSAlert() {
+        return handleDialog("alert", jsAlertButton, true, null);
+    }
+
+    /**
+     * Open the JS confirm and answer OK (accept) or Cancel
+     */
+    public SyntheticDialogs.Dialog handleJSConfirm(boolean accept) {
+        return handleDialog("confirm", jsConfirmButton, accept, null);
+    }
+
+    /**
+     * Open the JS prompt and enter the text, or dismiss it when text is null
+     */
+    public SyntheticDialogs.Dialog handleJSPrompt(String text) {
+        return handleDialog("prompt", jsPromptButton, text != null, text);
+    }
+
+    /**
+     * Dialogs recorded on this page in SYNTHETIC mode
+     */
+    public List<SyntheticDialogs.Dialog> getDialogCalls() {
+        return SyntheticDialogs.getCalls(driver);
+    }
+
     public String getAlertText() {
-        Alert alert = wait.until(ExpectedConditions.alertIsPresent());
+        Alert alert = wait.until("alert", ExpectedConditions.alertIsPresent());
         return alert.getText();
     }
 
     public void acceptAlert() {
-        Alert alert = wait.until(ExpectedConditions.alertIsPresent());
+        Alert alert = wait.until("alert", ExpectedConditions.alertIsPresent());
         alert.accept();
     }
 
     public void dismissAlert() {
-        Alert alert = wait.until(ExpectedConditions.alertIsPresent());
+        Alert alert = wait.until("alert", ExpectedConditions.alertIsPresent());
         alert.dismiss();
     }
 
     public void sendTextToAlert(String text) {
-        Alert alert = wait.until(ExpectedConditions.alertIsPresent());
+        Alert alert = wait.until("alert", ExpectedConditions.alertIsPresent());
         alert.sendKeys(text);
         alert.accept();
     }
 
     public String getResultText() {
-        WebElement result = wait.until(ExpectedConditions.visibilityOfElementLocated(resultText));
+        WebElement result = wait.until(resultText, ExpectedConditions::visibilityOfElementLocated);
         return result.getText();
     }
 
     public boolean isAlertPresent() {
         try {
-            wait.until(ExpectedConditions.alertIsPresent());
+            wait.until("alert", ExpectedConditions.alertIsPresent());
             return true;
         } catch (Exception e) {
             return false;
         }
     }
+
+    /**
+     * Fast negative check - true if no dialog opens within the short absence grace period
+     */
+    public boolean isAlertAbsent() {
+        return AbsenceProbe.isAlertAbsent(driver);
+    }
+
+    private SyntheticDialogs.Dialog handleDialog(String type, By button, boolean accept, String text) {
+        if (dialogMode == DialogMode.SYNTHETIC) {
+            return SyntheticDialogs.answer(wait, button, accept, text);
+        }
+        wait.until(button, ExpectedConditions::elementToBeClickable).click();
+        Alert alert = wait.until("alert", ExpectedConditions.alertIsPresent());
+        String message = alert.getText();
+        if (!accept) {
+            alert.dismiss();
+            return new SyntheticDialogs.Dialog(type, message, false, null);
+        }
+        if (text != null) {
+            alert.sendKeys(text);
+        }
+        alert.accept();
+        return new SyntheticDialogs.Dialog(type, message, true, "prompt".equals(type) ? (text == null ? "" : text) : null);
+    }
 }
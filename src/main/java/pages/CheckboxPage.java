@@ -3,79 +3,85 @@ package pages;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import java.time.Duration;
+import utils.BulkDom;
+import utils.DriverManager;
+import utils.ElementCache;
+import utils.LocatorOptimizer;
+import utils.PageNavigator;
+import utils.WaitEngine;
 import java.util.List;
 
 public class CheckboxPage {
     private WebDriver driver;
-    private WebDriverWait wait;
+    private WaitEngine wait;
+    private ElementCache elements;
 
     // Selectors untuk Checkboxes page
     private By checkbox1 = By.xpath("//input[@type='checkbox'][1]");
     private By checkbox2 = By.xpath("//input[@type='checkbox'][2]");
     private By allCheckboxes = By.xpath("//input[@type='checkbox']");
 
+    public CheckboxPage() {
+        this(DriverManager.getDriver());
+    }
+
     public CheckboxPage(WebDriver driver) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        this.wait = new WaitEngine(driver);
+        this.elements = new ElementCache(driver);
     }
 
     public void navigateToCheckboxes() {
-        driver.get("https://the-internet.herokuapp.com/checkboxes");
+        elements.invalidate();
+        PageNavigator.open(driver, PageNavigator.url("/checkboxes"));
     }
 
     public void clickCheckbox1() {
-        WebElement cb1 = wait.until(ExpectedConditions.elementToBeClickable(checkbox1));
-        cb1.click();
+        WebElement cb1 = wait.until(checkbox1, ExpectedConditions::elementToBeClickable);
+        elements.remember(checkbox1, cb1).click();
     }
 
     public void clickCheckbox2() {
-        WebElement cb2 = wait.until(ExpectedConditions.elementToBeClickable(checkbox2));
-        cb2.click();
+        WebElement cb2 = wait.until(checkbox2, ExpectedConditions::elementToBeClickable);
+        elements.remember(checkbox2, cb2).click();
     }
 
     public boolean isCheckbox1Selected() {
-        WebElement cb1 = driver.findElement(checkbox1);
-        return cb1.isSelected();
+        return elements.read(checkbox1, WebElement::isSelected);
     }
 
     public boolean isCheckbox2Selected() {
-        WebElement cb2 = driver.findElement(checkbox2);
-        return cb2.isSelected();
+        return elements.read(checkbox2, WebElement::isSelected);
     }
 
     public int getTotalCheckboxes() {
-        List<WebElement> checkboxes = driver.findElements(allCheckboxes);
-        return checkboxes.size();
+        return elements.readAll(optimized(allCheckboxes), List::size);
     }
 
     public void selectAllCheckboxes() {
-        List<WebElement> checkboxes = driver.findElements(allCheckboxes);
-        for (WebElement checkbox : checkboxes) {
-            if (!checkbox.isSelected()) {
-                checkbox.click();
-            }
-        }
+        BulkDom.setAllChecked(driver, optimized(allCheckboxes), true);
     }
 
     public void unselectAllCheckboxes() {
-        List<WebElement> checkboxes = driver.findElements(allCheckboxes);
-        for (WebElement checkbox : checkboxes) {
-            if (checkbox.isSelected()) {
-                checkbox.click();
-            }
-        }
+        BulkDom.setAllChecked(driver, optimized(allCheckboxes), false);
+    }
+
+    /**
+     * Checked state of every checkbox, read in one round trip
+     */
+    public List<Boolean> getCheckboxStates() {
+        return BulkDom.readChecked(driver, optimized(allCheckboxes));
     }
 
     public boolean areAllCheckboxesSelected() {
-        List<WebElement> checkboxes = driver.findElements(allCheckboxes);
-        for (WebElement checkbox : checkboxes) {
-            if (!checkbox.isSelected()) {
-                return false;
-            }
-        }
-        return true;
+        return getCheckboxStates().stream().allMatch(Boolean::booleanValue);
+    }
+
+    /**
+     * Only the plain attribute XPath has a verified CSS equivalent; positional ones are used as is
+     */
+    private By optimized(By locator) {
+        return LocatorOptimizer.resolve(driver, locator);
     }
 }
@@ -4,68 +4,107 @@ import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.Select;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import java.time.Duration;
+import utils.BulkDom;
+import utils.DriverManager;
+import utils.ElementCache;
+import utils.FastInput;
+import utils.InteractionMode;
+import utils.PageNavigator;
+import utils.WaitEngine;
 import java.util.List;
+import java.util.stream.Collectors;
 
 public class DropdownPage {
     private WebDriver driver;
-    private WebDriverWait wait;
+    private WaitEngine wait;
+    private ElementCache elements;
+    private InteractionMode mode = InteractionMode.getDefault(InteractionMode.REALISTIC);
 
     // Selectors untuk Dropdown page
     private By dropdownElement = By.id("dropdown");
 
+    public DropdownPage() {
+        this(DriverManager.getDriver());
+    }
+
     public DropdownPage(WebDriver driver) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        this.wait = new WaitEngine(driver);
+        this.elements = new ElementCache(driver);
     }
 
     public void navigateToDropdown() {
-        driver.get("https://the-internet.herokuapp.com/dropdown");
+        elements.invalidate();
+        PageNavigator.open(driver, PageNavigator.url("/dropdown"));
+    }
+
+    /**
+     * FAST selects in one script call, REALISTIC goes through Selenium's Select like a user would
+     */
+    public DropdownPage setInteractionMode(InteractionMode mode) {
+        this.mode = mode;
+        return this;
     }
 
     public void selectByValue(String value) {
-        WebElement dropdown = wait.until(ExpectedConditions.elementToBeClickable(dropdownElement));
+        if (mode == InteractionMode.FAST) {
+            FastInput.selectOption(wait, dropdownElement, FastInput.Match.VALUE, value);
+            return;
+        }
+        WebElement dropdown = elements.remember(dropdownElement,
+                wait.until(dropdownElement, ExpectedConditions::elementToBeClickable));
         Select select = new Select(dropdown);
         select.selectByValue(value);
     }
 
     public void selectByVisibleText(String text) {
-        WebElement dropdown = wait.until(ExpectedConditions.elementToBeClickable(dropdownElement));
+        if (mode == InteractionMode.FAST) {
+            FastInput.selectOption(wait, dropdownElement, FastInput.Match.TEXT, text);
+            return;
+        }
+        WebElement dropdown = elements.remember(dropdownElement,
+                wait.until(dropdownElement, ExpectedConditions::elementToBeClickable));
         Select select = new Select(dropdown);
         select.selectByVisibleText(text);
     }
 
     public void selectByIndex(int index) {
-        WebElement dropdown = wait.until(ExpectedConditions.elementToBeClickable(dropdownElement));
+        if (mode == InteractionMode.FAST) {
+            FastInput.selectOption(wait, dropdownElement, FastInput.Match.INDEX, String.valueOf(index));
+            return;
+        }
+        WebElement dropdown = elements.remember(dropdownElement,
+                wait.until(dropdownElement, ExpectedConditions::elementToBeClickable));
         Select select = new Select(dropdown);
         select.selectByIndex(index);
     }
 
     public String getSelectedOptionText() {
-        WebElement dropdown = driver.findElement(dropdownElement);
-        Select select = new Select(dropdown);
-        return select.getFirstSelectedOption().getText();
+        return elements.read(dropdownElement, dropdown -> new Select(dropdown).getFirstSelectedOption().getText());
     }
 
     public String getSelectedOptionValue() {
-        WebElement dropdown = driver.findElement(dropdownElement);
-        Select select = new Select(dropdown);
-        return select.getFirstSelectedOption().getAttribute("value");
+        return elements.read(dropdownElement, dropdown -> new Select(dropdown).getFirstSelectedOption().getAttribute("value"));
+    }
+
+    /**
+     * All options with text, value and selected/disabled flags, read in one round trip
+     */
+    public List<BulkDom.Option> getOptions() {
+        return BulkDom.readOptions(driver, dropdownElement);
     }
 
     public List<String> getAllOptionTexts() {
-        WebElement dropdown = driver.findElement(dropdownElement);
-        Select select = new Select(dropdown);
-        List<WebElement> options = select.getOptions();
-        return options.stream().map(WebElement::getText).toList();
+        return getOptions().stream().map(BulkDom.Option::getText).collect(Collectors.toList());
+    }
+
+    public List<String> getAllOptionValues() {
+        return getOptions().stream().map(BulkDom.Option::getValue).collect(Collectors.toList());
     }
 
     public int getTotalOptions() {
-        WebElement dropdown = driver.findElement(dropdownElement);
-        Select select = new Select(dropdown);
-        return select.getOptions().size();
+        return getOptions().size();
     }
 
     public boolean isOptionAvailable(String optionText) {
@@ -3,9 +3,10 @@ package pages;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import java.time.Duration;
+import utils.DriverManager;
+import utils.PageNavigator;
+import utils.WaitEngine;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
@@ -14,7 +15,7 @@ import java.nio.file.Paths;
 
 public class FileUploadPage {
     private WebDriver driver;
-    private WebDriverWait wait;
+    private WaitEngine wait;
 
     // Selectors untuk File Upload page
     private By fileInput = By.id("file-upload");
@@ -22,27 +23,31 @@ public class FileUploadPage {
     private By uploadedFiles = By.id("uploaded-files");
     private By dragDropArea = By.id("drag-drop-upload");
 
+    public FileUploadPage() {
+        this(DriverManager.getDriver());
+    }
+
     public FileUploadPage(WebDriver driver) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        this.wait = new WaitEngine(driver);
     }
 
     public void navigateToFileUpload() {
-        driver.get("https://the-internet.herokuapp.com/upload");
+        PageNavigator.open(driver, PageNavigator.url("/upload"));
     }
 
     public void selectFile(String filePath) {
-        WebElement fileInputElement = wait.until(ExpectedConditions.presenceOfElementLocated(fileInput));
+        WebElement fileInputElement = wait.until(fileInput, ExpectedConditions::presenceOfElementLocated);
         fileInputElement.sendKeys(filePath);
     }
 
     public void clickUploadButton() {
-        WebElement uploadBtn = wait.until(ExpectedConditions.elementToBeClickable(uploadButton));
+        WebElement uploadBtn = wait.until(uploadButton, ExpectedConditions::elementToBeClickable);
         uploadBtn.click();
     }
 
     public String getUploadedFileName() {
-        WebElement uploadedFile = wait.until(ExpectedConditions.visibilityOfElementLocated(uploadedFiles));
+        WebElement uploadedFile = wait.until(uploadedFiles, ExpectedConditions::visibilityOfElementLocated);
         return uploadedFile.getText();
     }
 
@@ -3,15 +3,20 @@ package pages;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.interactions.Actions;
-import java.time.Duration;
+import utils.BulkDom;
+import utils.DriverManager;
+import utils.ElementCache;
+import utils.HoverWait;
+import utils.PageNavigator;
+import utils.WaitEngine;
 import java.util.List;
 
 public class HoverPage {
     private WebDriver driver;
-    private WebDriverWait wait;
+    private WaitEngine wait;
+    private ElementCache elements;
     private Actions actions;
 
     // Selectors untuk Hovers page
@@ -19,30 +24,36 @@ public class HoverPage {
     private By figureCaption = By.cssSelector(".figcaption");
     private By userLinks = By.cssSelector(".figcaption a");
 
+    public HoverPage() {
+        this(DriverManager.getDriver());
+    }
+
     public HoverPage(WebDriver driver) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        this.wait = new WaitEngine(driver);
+        this.elements = new ElementCache(driver);
         this.actions = new Actions(driver);
     }
 
     public void navigateToHovers() {
-        driver.get("https://the-internet.herokuapp.com/hovers");
+        elements.invalidate();
+        PageNavigator.open(driver, PageNavigator.url("/hovers"));
     }
 
     public void hoverOverImage(int imageIndex) {
-        List<WebElement> images = driver.findElements(figureImages);
-        if (imageIndex < images.size()) {
-            WebElement image = images.get(imageIndex);
-            actions.moveToElement(image).perform();
-        }
+        elements.readAll(figureImages, images -> {
+            if (imageIndex < images.size()) {
+                actions.moveToElement(images.get(imageIndex)).perform();
+            }
+            return null;
+        });
     }
 
     public boolean isCaptionVisible(int imageIndex) {
         try {
             hoverOverImage(imageIndex);
-            Thread.sleep(500); // Small wait for hover effect
-            List<WebElement> captions = driver.findElements(figureCaption);
-            return imageIndex < captions.size() && captions.get(imageIndex).isDisplayed();
+            return elements.readAll(figureCaption, captions ->
+                    imageIndex < captions.size() && HoverWait.waitUntilVisible(driver, captions.get(imageIndex)));
         } catch (Exception e) {
             return false;
         }
@@ -51,11 +62,14 @@ public class HoverPage {
     public String getCaptionText(int imageIndex) {
         hoverOverImage(imageIndex);
         try {
-            Thread.sleep(500); // Small wait for hover effect
-            List<WebElement> captions = driver.findElements(figureCaption);
-            if (imageIndex < captions.size()) {
-                return captions.get(imageIndex).getText();
-            }
+            return elements.readAll(figureCaption, captions -> {
+                if (imageIndex < captions.size()) {
+                    WebElement caption = captions.get(imageIndex);
+                    HoverWait.waitUntilVisible(driver, caption);
+                    return caption.getText();
+                }
+                return "";
+            });
         } catch (Exception e) {
             // Handle exception
         }
@@ -65,19 +79,33 @@ public class HoverPage {
     public void clickUserLink(int imageIndex) {
         hoverOverImage(imageIndex);
         try {
-            Thread.sleep(500); // Small wait for hover effect
-            List<WebElement> links = driver.findElements(userLinks);
-            if (imageIndex < links.size()) {
-                links.get(imageIndex).click();
+            boolean clicked = elements.readAll(userLinks, links -> {
+                if (imageIndex < links.size()) {
+                    WebElement link = links.get(imageIndex);
+                    HoverWait.waitUntilVisible(driver, link);
+                    link.click();
+                    return true;
+                }
+                return false;
+            });
+            if (clicked) {
+                // Klik membuka halaman profil, handle lama tidak berlaku lagi
+                elements.invalidate();
             }
         } catch (Exception e) {
             // Handle exception
         }
     }
 
+    /**
+     * Text of the captions that are visible right now, read in one round trip
+     */
+    public List<String> getVisibleCaptionTexts() {
+        return BulkDom.readVisibleTexts(driver, figureCaption);
+    }
+
     public int getTotalImages() {
-        List<WebElement> images = driver.findElements(figureImages);
-        return images.size();
+        return elements.readAll(figureImages, List::size);
     }
 
     public boolean isUserProfilePageLoaded() {
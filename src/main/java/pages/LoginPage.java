@@ -1,15 +1,25 @@
 package pages;
 
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import java.time.Duration;
+import utils.AbsenceProbe;
+import utils.DriverManager;
+import utils.FastInput;
+import utils.InteractionMode;
+import utils.JsLocator;
+import utils.PageNavigator;
+import utils.SessionCache;
+import utils.WaitEngine;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 public class LoginPage {
     private WebDriver driver;
-    private WebDriverWait wait;
+    private WaitEngine wait;
+    private InteractionMode mode = InteractionMode.getDefault(InteractionMode.FAST);
 
     // Selectors untuk The Internet Herokuapp login page
     private By usernameField = By.id("username");
@@ -18,41 +28,65 @@ public class LoginPage {
     private By flashMessage = By.id("flash");
     private By logoutButton = By.cssSelector("a[href='/logout']");
 
+    // Flash, logout dan URL dibaca sekaligus; null selama masih di dokumen yang baru di-submit
+    // atau flash belum tampil (halaman belum selesai pindah)
+    private static final String STATE_SCRIPT = JsLocator.FIND_ALL
+            + "function visible(el) { return !!el && el.getClientRects().length > 0; }"
+            + "var flash = findAll(arguments[0], arguments[1])[0];"
+            + "if (" + FastInput.STILL_ON_SUBMITTED_PAGE + " || !visible(flash)) { return null; }"
+            + "var logoutVisible = findAll(arguments[2], arguments[3]).some(visible);"
+            + "return { flash: flash.innerText, logoutVisible: logoutVisible, url: location.href };";
+
+    public LoginPage() {
+        this(DriverManager.getDriver());
+    }
+
     public LoginPage(WebDriver driver) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        this.wait = new WaitEngine(driver);
+    }
+
+    public void navigateToLogin() {
+        PageNavigator.open(driver, PageNavigator.url("/login"));
     }
 
     public void enterUsername(String username) {
-        WebElement usernameElement = wait.until(ExpectedConditions.elementToBeClickable(usernameField));
+        WebElement usernameElement = wait.until(usernameField, ExpectedConditions::elementToBeClickable);
         usernameElement.clear();
         usernameElement.sendKeys(username);
     }
 
     public void enterPassword(String password) {
-        WebElement passwordElement = wait.until(ExpectedConditions.elementToBeClickable(passwordField));
+        WebElement passwordElement = wait.until(passwordField, ExpectedConditions::elementToBeClickable);
         passwordElement.clear();
         passwordElement.sendKeys(password);
     }
 
     public void clickLoginButton() {
-        WebElement loginBtn = wait.until(ExpectedConditions.elementToBeClickable(loginButton));
+        WebElement loginBtn = wait.until(loginButton, ExpectedConditions::elementToBeClickable);
         loginBtn.click();
     }
 
     public String getFlashMessage() {
-        WebElement flashElement = wait.until(ExpectedConditions.visibilityOfElementLocated(flashMessage));
+        WebElement flashElement = wait.until(flashMessage, ExpectedConditions::visibilityOfElementLocated);
         return flashElement.getText();
     }
 
     public boolean isLogoutButtonVisible() {
         try {
-            return wait.until(ExpectedConditions.visibilityOfElementLocated(logoutButton)).isDisplayed();
+            return wait.until(logoutButton, ExpectedConditions::visibilityOfElementLocated).isDisplayed();
         } catch (Exception e) {
             return false;
         }
     }
 
+    /**
+     * Fast negative check - only waits the short absence grace period, not the full timeout
+     */
+    public boolean isLogoutButtonAbsent() {
+        return AbsenceProbe.isElementAbsent(driver, logoutButton);
+    }
+
     public void clickLogoutButton() {
         if (isLogoutButtonVisible()) {
             WebElement logoutBtn = driver.findElement(logoutButton);
@@ -60,18 +94,62 @@ public class LoginPage {
         }
     }
 
+    /**
+     * FAST fills both fields and submits in one script call, REALISTIC types key by key and clicks
+     */
+    public LoginPage setInteractionMode(InteractionMode mode) {
+        this.mode = mode;
+        return this;
+    }
+
     public void login(String username, String password) {
+        if (mode == InteractionMode.FAST) {
+            Map<By, String> fields = new LinkedHashMap<>();
+            fields.put(usernameField, username);
+            fields.put(passwordField, password);
+            FastInput.fillAndSubmit(wait, fields, loginButton);
+            return;
+        }
         enterUsername(username);
         enterPassword(password);
         clickLoginButton();
     }
 
+    /**
+     * Logged-in secure area for tests that need it but do not test the login itself.
+     * Reuses cached session cookies when possible and only falls back to the login form when needed
+     */
+    public void ensureLoggedIn(String username, String password) {
+        if (SessionCache.restore(driver, username, password)) {
+            return;
+        }
+        navigateToLogin();
+        login(username, password);
+        LoginPageState state = getState();
+        if (!state.isLoginSuccessful()) {
+            throw new IllegalStateException("Login failed for " + username + ": " + state.getFlashMessage().trim());
+        }
+        SessionCache.store(driver, username, password);
+    }
+
+    /**
+     * Snapshot of flash message, logout button and URL, taken once the flash message is shown
+     */
+    @SuppressWarnings("unchecked")
+    public LoginPageState getState() {
+        String[] flash = JsLocator.requireQuery(flashMessage);
+        String[] logout = JsLocator.requireQuery(logoutButton);
+        Map<String, Object> state = wait.until("LoginPageState", d -> (Map<String, Object>) ((JavascriptExecutor) d)
+                .executeScript(STATE_SCRIPT, flash[0], flash[1], logout[0], logout[1]));
+        return new LoginPageState((String) state.get("flash"), Boolean.TRUE.equals(state.get("logoutVisible")),
+                (String) state.get("url"));
+    }
+
     public boolean isLoginSuccessful() {
-        return isLogoutButtonVisible() && getFlashMessage().contains("You logged into a secure area!");
+        return getState().isLoginSuccessful();
     }
 
     public boolean isLoginFailed() {
-        return getFlashMessage().contains("Your username is invalid!") || 
-               getFlashMessage().contains("Your password is invalid!");
+        return getState().isLoginFailed();
     }
 }
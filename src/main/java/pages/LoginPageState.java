@@ -0,0 +1,47 @@
+package pages;
+
+/**
+ * Immutable snapshot of the login / secure area page, captured in one round trip by
+ * LoginPage.getState(). Assertions read the snapshot instead of waiting on the page again
+ */
+public class LoginPageState {
+    private final String flashMessage;
+    private final boolean logoutButtonVisible;
+    private final String url;
+
+    public LoginPageState(String flashMessage, boolean logoutButtonVisible, String url) {
+        this.flashMessage = flashMessage == null ? "" : flashMessage;
+        this.logoutButtonVisible = logoutButtonVisible;
+        this.url = url;
+    }
+
+    public String getFlashMessage() {
+        return flashMessage;
+    }
+
+    public boolean isLogoutButtonVisible() {
+        return logoutButtonVisible;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public boolean isLoginSuccessful() {
+        return logoutButtonVisible && flashMessage.contains("You logged into a secure area!");
+    }
+
+    public boolean isLoginFailed() {
+        return flashMessage.contains("Your username is invalid!") ||
+               flashMessage.contains("Your password is invalid!");
+    }
+
+    public boolean isLoggedOut() {
+        return !logoutButtonVisible && flashMessage.contains("You logged out of the secure area!");
+    }
+
+    @Override
+    public String toString() {
+        return "LoginPageState{flash='" + flashMessage.trim() + "', logoutVisible=" + logoutButtonVisible + ", url=" + url + "}";
+    }
+}
@@ -0,0 +1,132 @@
+package utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoAlertPresentException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * AbsenceProbe - Fast checks that something is NOT there
+ * A normal wait only returns false after its full timeout; a probe gives the page a short
+ * grace period (-Dprobe.absenceMillis=500) to show the element or dialog and returns as soon
+ * as it does. Element probes listen for DOM mutations in the browser instead of polling
+ */
+public class AbsenceProbe {
+
+    private static final long DEFAULT_TIMEOUT_MILLIS = Long.getLong("probe.absenceMillis", 500);
+    private static final long ALERT_POLL_MILLIS = 25;
+
+    private static final String ELEMENT_ABSENT_SCRIPT =
+            JsLocator.FIND_ALL
+            + "var type = arguments[0], value = arguments[1], timeout = arguments[2], done = arguments[arguments.length - 1];"
+            + "function shown() {"
+            + "  return findAll(type, value).some(function (el) { return el.getClientRects().length > 0; });"
+            + "}"
+            + "if (shown()) { done(false); return; }"
+            + "var finished = false;"
+            + "var observer = new MutationObserver(function () { if (shown()) { finish(false); } });"
+            + "function finish(absent) {"
+            + "  if (finished) { return; }"
+            + "  finished = true;"
+            + "  observer.disconnect();"
+            + "  done(absent);"
+            + "}"
+            + "observer.observe(document, { childList: true, subtree: true, attributes: true });"
+            + "setTimeout(function () { finish(!shown()); }, timeout);";
+
+    private static final AtomicInteger checks = new AtomicInteger();
+    private static final AtomicLong spentMillis = new AtomicLong();
+    private static final AtomicLong fullWaitMillis = new AtomicLong();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(AbsenceProbe::printSummary, "absence-probe-summary"));
+    }
+
+    public static boolean isElementAbsent(WebDriver driver, By locator) {
+        return isElementAbsent(driver, locator, Duration.ofMillis(DEFAULT_TIMEOUT_MILLIS));
+    }
+
+    /**
+     * True if no visible element matches the locator within the grace period
+     */
+    public static boolean isElementAbsent(WebDriver driver, By locator, Duration timeout) {
+        long startNanos = System.nanoTime();
+        boolean absent;
+        String[] query = JsLocator.toQuery(locator);
+        if (query != null) {
+            absent = Boolean.TRUE.equals(((JavascriptExecutor) driver).executeAsyncScript(
+                    ELEMENT_ABSENT_SCRIPT, query[0], query[1], timeout.toMillis()));
+        } else {
+            absent = pollUntilDeadline(startNanos, timeout, () -> driver.findElements(locator).stream()
+                    .noneMatch(WebElement::isDisplayed));
+        }
+        record(locator.toString(), startNanos, absent);
+        return absent;
+    }
+
+    public static boolean isAlertAbsent(WebDriver driver) {
+        return isAlertAbsent(driver, Duration.ofMillis(DEFAULT_TIMEOUT_MILLIS));
+    }
+
+    /**
+     * True if no dialog opens within the grace period. Polled via switchTo().alert(), because a
+     * script running while a dialog opens would make chromedriver dismiss it
+     */
+    public static boolean isAlertAbsent(WebDriver driver, Duration timeout) {
+        long startNanos = System.nanoTime();
+        boolean absent = pollUntilDeadline(startNanos, timeout, () -> {
+            try {
+                driver.switchTo().alert();
+                return false;
+            } catch (NoAlertPresentException e) {
+                return true;
+            }
+        });
+        record("alert", startNanos, absent);
+        return absent;
+    }
+
+    public static void printSummary() {
+        if (checks.get() == 0) {
+            return;
+        }
+        System.out.println("🔎 Absence checks: " + checks.get() + " took " + spentMillis.get()
+                + " ms (full waits would have taken " + fullWaitMillis.get() + " ms)");
+    }
+
+    private interface Check {
+        boolean stillAbsent();
+    }
+
+    private static boolean pollUntilDeadline(long startNanos, Duration timeout, Check check) {
+        long deadlineNanos = startNanos + timeout.toNanos();
+        while (true) {
+            if (!check.stillAbsent()) {
+                return false;
+            }
+            long remainingMillis = (deadlineNanos - System.nanoTime()) / 1_000_000;
+            if (remainingMillis <= 0) {
+                return true;
+            }
+            try {
+                Thread.sleep(Math.min(ALERT_POLL_MILLIS, remainingMillis));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return check.stillAbsent();
+            }
+        }
+    }
+
+    private static void record(String key, long startNanos, boolean absent) {
+        long millis = (System.nanoTime() - startNanos) / 1_000_000;
+        checks.incrementAndGet();
+        spentMillis.addAndGet(millis);
+        // Wait biasa baru bisa bilang "tidak ada" setelah timeout penuh
+        fullWaitMillis.addAndGet(absent ? WaitEngine.timeoutFor(key).toMillis() : millis);
+    }
+}
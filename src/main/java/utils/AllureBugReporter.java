@@ -1,18 +1,16 @@
 package utils;
 
 import io.qameta.allure.Allure;
-import io.qameta.allure.Attachment;
 import io.qameta.allure.Issue;
 import io.qameta.allure.Severity;
 import io.qameta.allure.SeverityLevel;
 import io.qameta.allure.Step;
-import org.openqa.selenium.OutputType;
-import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
 
 import java.io.ByteArrayInputStream;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * AllureBugReporter - Advanced bug reporting system integrated with Allure
@@ -20,7 +18,7 @@ import java.time.format.DateTimeFormatter;
  */
 public class AllureBugReporter {
     
-    private static int bugCounter = 0;
+    private static final AtomicInteger bugCounter = new AtomicInteger();
     
     /**
      * Report a critical bug with Allure integration
@@ -30,10 +28,10 @@ public class AllureBugReporter {
     public static void reportCriticalBug(String testName, String description, 
                                        String expectedResult, String actualResult, 
                                        String stepsToReproduce, WebDriver driver) {
-        bugCounter++;
+        int bugId = bugCounter.incrementAndGet();
         
         // Add bug details to Allure report
-        Allure.parameter("Bug ID", "BUG-" + String.format("%03d", bugCounter));
+        Allure.parameter("Bug ID", "BUG-" + String.format("%03d", bugId));
         Allure.parameter("Severity", "CRITICAL");
         Allure.parameter("Test Name", testName);
         Allure.parameter("Description", description);
@@ -64,7 +62,7 @@ public class AllureBugReporter {
         );
         
         Allure.description(bugDescription);
-        Allure.issue("CRITICAL-" + bugCounter, testName);
+        Allure.issue("CRITICAL-" + bugId, testName);
         
         System.out.println("🔴 CRITICAL BUG REPORTED: " + testName);
     }
@@ -77,9 +75,9 @@ public class AllureBugReporter {
     public static void reportHighBug(String testName, String description, 
                                    String expectedResult, String actualResult, 
                                    String stepsToReproduce, WebDriver driver) {
-        bugCounter++;
+        int bugId = bugCounter.incrementAndGet();
         
-        Allure.parameter("Bug ID", "BUG-" + String.format("%03d", bugCounter));
+        Allure.parameter("Bug ID", "BUG-" + String.format("%03d", bugId));
         Allure.parameter("Severity", "HIGH");
         Allure.parameter("Test Name", testName);
         Allure.parameter("Description", description);
@@ -105,7 +103,7 @@ public class AllureBugReporter {
         );
         
         Allure.description(bugDescription);
-        Allure.issue("HIGH-" + bugCounter, testName);
+        Allure.issue("HIGH-" + bugId, testName);
         
         System.out.println("🟠 HIGH PRIORITY BUG REPORTED: " + testName);
     }
@@ -118,9 +116,9 @@ public class AllureBugReporter {
     public static void reportMediumBug(String testName, String description, 
                                      String expectedResult, String actualResult, 
                                      String stepsToReproduce, WebDriver driver) {
-        bugCounter++;
+        int bugId = bugCounter.incrementAndGet();
         
-        Allure.parameter("Bug ID", "BUG-" + String.format("%03d", bugCounter));
+        Allure.parameter("Bug ID", "BUG-" + String.format("%03d", bugId));
         Allure.parameter("Severity", "MEDIUM");
         Allure.parameter("Test Name", testName);
         Allure.parameter("Description", description);
@@ -146,7 +144,7 @@ public class AllureBugReporter {
         );
         
         Allure.description(bugDescription);
-        Allure.issue("MEDIUM-" + bugCounter, testName);
+        Allure.issue("MEDIUM-" + bugId, testName);
         
         System.out.println("🟡 MEDIUM PRIORITY BUG REPORTED: " + testName);
     }
@@ -159,9 +157,9 @@ public class AllureBugReporter {
     public static void reportLowBug(String testName, String description, 
                                   String expectedResult, String actualResult, 
                                   String stepsToReproduce, WebDriver driver) {
-        bugCounter++;
+        int bugId = bugCounter.incrementAndGet();
         
-        Allure.parameter("Bug ID", "BUG-" + String.format("%03d", bugCounter));
+        Allure.parameter("Bug ID", "BUG-" + String.format("%03d", bugId));
         Allure.parameter("Severity", "LOW");
         Allure.parameter("Test Name", testName);
         Allure.parameter("Description", description);
@@ -187,7 +185,7 @@ public class AllureBugReporter {
         );
         
         Allure.description(bugDescription);
-        Allure.issue("LOW-" + bugCounter, testName);
+        Allure.issue("LOW-" + bugId, testName);
         
         System.out.println("🟢 LOW PRIORITY BUG REPORTED: " + testName);
     }
@@ -200,9 +198,9 @@ public class AllureBugReporter {
     public static void reportPerformanceIssue(String testName, String description, 
                                             String expectedPerformance, String actualPerformance, 
                                             String measurementDetails, WebDriver driver) {
-        bugCounter++;
+        int bugId = bugCounter.incrementAndGet();
         
-        Allure.parameter("Bug ID", "PERF-" + String.format("%03d", bugCounter));
+        Allure.parameter("Bug ID", "PERF-" + String.format("%03d", bugId));
         Allure.parameter("Issue Type", "PERFORMANCE");
         Allure.parameter("Test Name", testName);
         Allure.parameter("Description", description);
@@ -228,31 +226,18 @@ public class AllureBugReporter {
         );
         
         Allure.description(bugDescription);
-        Allure.issue("PERF-" + bugCounter, testName);
+        Allure.issue("PERF-" + bugId, testName);
         
         System.out.println("⚡ PERFORMANCE ISSUE REPORTED: " + testName);
     }
     
     /**
-     * Attach screenshot to Allure report
+     * Attach screenshot to Allure report (and disk) through the artifact pipeline, captured only once.
+     * Returns the screenshot file
      */
-    @Attachment(value = "Screenshot", type = "image/png")
-    public static byte[] attachScreenshot(WebDriver driver, String testName) {
-        if (driver != null) {
-            try {
-                TakesScreenshot takesScreenshot = (TakesScreenshot) driver;
-                byte[] screenshot = takesScreenshot.getScreenshotAs(OutputType.BYTES);
-                
-                // Also save to file system for backup
-                ScreenshotUtils.takeScreenshotOnFailure(driver, testName + "_BUG");
-                
-                return screenshot;
-            } catch (Exception e) {
-                System.err.println("Failed to take screenshot: " + e.getMessage());
-                return new byte[0];
-            }
-        }
-        return new byte[0];
+    public static String attachScreenshot(WebDriver driver, String testName) {
+        ArtifactPipeline.Capture capture = ArtifactPipeline.capture(driver, testName + "_BUG");
+        return capture == null ? null : capture.getPath();
     }
     
     /**
@@ -310,14 +295,14 @@ public class AllureBugReporter {
      * Get total bug count
      */
     public static int getBugCount() {
-        return bugCounter;
+        return bugCounter.get();
     }
     
     /**
      * Reset bug counter (for new test sessions)
      */
     public static void resetBugCounter() {
-        bugCounter = 0;
+        bugCounter.set(0);
         System.out.println("🔄 Bug counter reset");
     }
     
@@ -0,0 +1,166 @@
+package utils;
+
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ArtifactPipeline - Takes a screenshot once and hands the same capture to every sink
+ * Sinks (by default disk and Allure) run once per capture; callers such as BugReporter use the
+ * resulting file path instead of capturing again. A failure opens an event on the test thread:
+ * until the next test starts, every further screenshot request for that session (listener, @AfterMethod,
+ * bug reporters) gets the failure capture instead of a new one
+ */
+public class ArtifactPipeline {
+
+    /**
+     * Receives every capture once, e.g. to store or attach it
+     */
+    public interface Sink {
+        void accept(Capture capture);
+    }
+
+    /**
+     * One screenshot and where the sinks put it. The PNG is kept as the base64 text WebDriver returned;
+     * sinks decode it as a stream instead of materialising the image as a byte[]
+     */
+    public static class Capture {
+        private final String name;
+        private final String base64;
+        private volatile String path;
+        private volatile String sha256;
+
+        public Capture(String name, String base64) {
+            this.name = name;
+            this.base64 = base64;
+        }
+
+        public String getName() { return name; }
+        public String getBase64() { return base64; }
+        public InputStream openPng() { return StreamingBase64.openStream(base64); }
+        public long getPngSize() { return StreamingBase64.decodedLength(base64); }
+        /** Content hash of the PNG, computed once and shared by all sinks */
+        public String getSha256() {
+            if (sha256 == null) {
+                sha256 = ScreenshotStore.sha256(base64);
+            }
+            return sha256;
+        }
+        /** File written by the disk sink, null if it failed or is not registered */
+        public String getPath() { return path; }
+        public void setPath(String path) { this.path = path; }
+    }
+
+    private static final ScreenshotEncoding ALLURE_ENCODING = ScreenshotEncoding.forSink("allure");
+
+    public static final Sink DISK = ScreenshotUtils::save;
+    public static final Sink ALLURE = capture -> ScreenshotStore.attach(capture, ALLURE_ENCODING);
+
+    private static final List<Sink> sinks = new CopyOnWriteArrayList<>(List.of(DISK, ALLURE));
+    private static final ThreadLocal<Capture> failureEvent = new ThreadLocal<>();
+    private static final ThreadLocal<WebDriver> failureDriver = new ThreadLocal<>();
+
+    private static final AtomicInteger captures = new AtomicInteger();
+    private static final AtomicInteger reused = new AtomicInteger();
+    private static final Map<WebDriver, AtomicInteger> capturesPerDriver = new ConcurrentHashMap<>();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(ArtifactPipeline::printSummary, "artifact-pipeline-summary"));
+    }
+
+    public static void addSink(Sink sink) {
+        sinks.add(sink);
+    }
+
+    public static void removeSink(Sink sink) {
+        sinks.remove(sink);
+    }
+
+    /**
+     * Screenshot for a failure; the first call per test captures, later calls return the same capture
+     */
+    public static Capture captureFailure(WebDriver driver, String name) {
+        Capture capture = capture(driver, name);
+        if (capture != null && failureEvent.get() == null) {
+            failureEvent.set(capture);
+            failureDriver.set(driver);
+        }
+        return capture;
+    }
+
+    /**
+     * Screenshot of the session's current state, shared with the open failure event if there is one.
+     * Returns null if the browser could not take it
+     */
+    public static Capture capture(WebDriver driver, String name) {
+        if (driver == null) {
+            return null;
+        }
+        Capture open = failureEvent.get();
+        if (open != null && failureDriver.get() == driver) {
+            reused.incrementAndGet();
+            return open;
+        }
+        String base64;
+        try {
+            // BASE64 = payload apa adanya; BYTES/FILE langsung decode ke byte[] penuh
+            base64 = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BASE64);
+        } catch (Exception e) {
+            System.err.println("Failed to take screenshot: " + e.getMessage());
+            return null;
+        }
+        captures.incrementAndGet();
+        capturesPerDriver.computeIfAbsent(driver, d -> new AtomicInteger()).incrementAndGet();
+
+        Capture capture = new Capture(name, base64);
+        for (Sink sink : sinks) {
+            try {
+                sink.accept(capture);
+            } catch (Exception e) {
+                System.err.println("Screenshot sink failed for " + name + ": " + e.getMessage());
+            }
+        }
+        return capture;
+    }
+
+    /**
+     * Close the current thread's failure event; called when the next test starts
+     */
+    public static void endEvent() {
+        failureEvent.remove();
+        failureDriver.remove();
+    }
+
+    public static int getCaptureCount() {
+        return captures.get();
+    }
+
+    /**
+     * Screenshots actually taken from this session (reused captures not counted)
+     */
+    public static int getCaptureCount(WebDriver driver) {
+        AtomicInteger count = capturesPerDriver.get(driver);
+        return count == null ? 0 : count.get();
+    }
+
+    /**
+     * Drop the per-session counter of a session that is being quit, so it can be collected
+     */
+    public static void forgetDriver(WebDriver driver) {
+        capturesPerDriver.remove(driver);
+    }
+
+    public static void printSummary() {
+        if (captures.get() == 0) {
+            return;
+        }
+        System.out.println("📸 Screenshots: " + captures.get() + " captured | " + reused.get() + " requests served from an existing capture");
+    }
+}
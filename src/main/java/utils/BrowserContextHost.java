@@ -0,0 +1,146 @@
+package utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * BrowserContextHost - Runs many isolated browser contexts inside a single Chrome process
+ * Every context (Target.createBrowserContext) has its own cookies, storage and cache and is
+ * driven by its own lightweight chromedriver attached to the shared browser, so contexts can be
+ * handed out to tests like independent sessions. Enable with -Ddriver.mode=context
+ */
+public class BrowserContextHost {
+
+    private static volatile WebDriver hostDriver;
+    private static volatile String debuggerAddress;
+    private static volatile CdpConnection browser;
+
+    private static final Map<WebDriver, String> contextIds = new ConcurrentHashMap<>();
+
+    public static boolean isEnabled() {
+        return "context".equalsIgnoreCase(System.getProperty("driver.mode", "process"));
+    }
+
+    public static boolean isContextDriver(WebDriver driver) {
+        return contextIds.containsKey(driver);
+    }
+
+    /**
+     * New session living in its own browser context of the shared Chrome
+     */
+    public static WebDriver createContextDriver() {
+        startHost();
+
+        ChromeOptions options = new ChromeOptions();
+        options.setExperimentalOption("debuggerAddress", debuggerAddress);
+        WebDriver driver = new ChromeDriver(options);
+
+        openFreshContext(driver);
+        return driver;
+    }
+
+    /**
+     * Throw the session's context away and give it a new, empty one; much cheaper than
+     * clearing state piece by piece and guarantees nothing leaks into the next test
+     */
+    public static void resetContext(WebDriver driver) {
+        disposeContext(contextIds.get(driver));
+        openFreshContext(driver);
+    }
+
+    /**
+     * Dispose the session's context; the shared browser keeps running
+     */
+    public static void closeContextDriver(WebDriver driver) {
+        String contextId = contextIds.remove(driver);
+        if (contextId != null) {
+            try {
+                disposeContext(contextId);
+            } catch (Exception e) {
+                System.err.println("Failed to dispose browser context: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Quit the shared browser
+     */
+    public static synchronized void shutdown() {
+        if (browser != null) {
+            browser.close();
+            browser = null;
+        }
+        if (hostDriver != null) {
+            hostDriver.quit();
+            hostDriver = null;
+        }
+    }
+
+    private static synchronized void startHost() {
+        if (hostDriver != null) {
+            return;
+        }
+        try {
+            DriverBinaryResolver.resolveChromeDriver();
+
+            debuggerAddress = "127.0.0.1:" + findFreePort();
+            ChromeOptions options = DriverFactory.defaultOptions();
+            options.addArguments("--remote-debugging-port=" + debuggerAddress.split(":")[1]);
+            hostDriver = new ChromeDriver(options);
+
+            browser = CdpConnection.connect(debuggerAddress);
+            System.out.println("🧩 Shared Chrome for browser contexts started on " + debuggerAddress);
+        } catch (Exception e) {
+            shutdown();
+            throw new IllegalStateException("Failed to start shared Chrome: " + e.getMessage(), e);
+        }
+    }
+
+    private static void openFreshContext(WebDriver driver) {
+        Map<String, Object> contextParams = new HashMap<>();
+        contextParams.put("disposeOnDetach", false);
+        String contextId = (String) browser.send("Target.createBrowserContext", contextParams).get("browserContextId");
+
+        Map<String, Object> targetParams = new HashMap<>();
+        targetParams.put("url", "about:blank");
+        targetParams.put("browserContextId", contextId);
+        // Window sendiri supaya tab tidak di-throttle sebagai background tab
+        targetParams.put("newWindow", true);
+        String targetId = (String) browser.send("Target.createTarget", targetParams).get("targetId");
+
+        contextIds.put(driver, contextId);
+        driver.switchTo().window(findWindowHandle(driver, targetId));
+    }
+
+    private static void disposeContext(String contextId) {
+        if (contextId == null) {
+            return;
+        }
+        Map<String, Object> params = new HashMap<>();
+        params.put("browserContextId", contextId);
+        browser.send("Target.disposeBrowserContext", params);
+    }
+
+    private static String findWindowHandle(WebDriver driver, String targetId) {
+        // chromedriver memakai target id sebagai window handle
+        for (String handle : driver.getWindowHandles()) {
+            if (handle.equals(targetId) || handle.endsWith(targetId)) {
+                return handle;
+            }
+        }
+        throw new IllegalStateException("No window handle for target " + targetId);
+    }
+
+    private static int findFreePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -9,17 +9,37 @@ import io.qameta.allure.Step;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.Json;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class BugReporter {
-    private static final String BUG_REPORT_DIR = "bug-reports";
+    private static final String BUG_REPORT_DIR = TestSharder.outputDir("bug-reports").toString();
     private static final String BUG_REPORT_FILE = "bug-report.html";
-    private static List<BugReport> bugReports = new ArrayList<>();
+    public static final String BUG_DATA_FILE = "bugs.json";
+    private static final Json JSON = new Json();
+    private static List<BugReport> bugReports = new CopyOnWriteArrayList<>();
+
+    static {
+        // Setiap shard menyimpan bug report sendiri supaya bisa di-merge oleh ShardResultMerger
+        if (TestSharder.isEnabled()) {
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                if (!bugReports.isEmpty()) {
+                    generateBugReport();
+                }
+            }, "bug-report-shard-writer"));
+        }
+    }
     
     public static class BugReport {
         private String testName;
@@ -62,6 +82,33 @@ public class BugReporter {
         public void setScreenshotPath(String screenshotPath) { this.screenshotPath = screenshotPath; }
         public void setUrl(String url) { this.url = url; }
         public void setBrowserInfo(String browserInfo) { this.browserInfo = browserInfo; }
+        public void setTimestamp(String timestamp) { this.timestamp = timestamp; }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("testName", testName);
+            map.put("severity", severity);
+            map.put("description", description);
+            map.put("expectedResult", expectedResult);
+            map.put("actualResult", actualResult);
+            map.put("steps", steps);
+            map.put("screenshotPath", screenshotPath);
+            map.put("timestamp", timestamp);
+            map.put("url", url);
+            map.put("browserInfo", browserInfo);
+            return map;
+        }
+
+        static BugReport fromMap(Map<String, Object> map) {
+            BugReport bug = new BugReport((String) map.get("testName"), (String) map.get("severity"),
+                    (String) map.get("description"), (String) map.get("expectedResult"),
+                    (String) map.get("actualResult"), (String) map.get("steps"));
+            bug.setScreenshotPath((String) map.get("screenshotPath"));
+            bug.setTimestamp((String) map.get("timestamp"));
+            bug.setUrl((String) map.get("url"));
+            bug.setBrowserInfo((String) map.get("browserInfo"));
+            return bug;
+        }
     }
     
     public static void reportBug(String testName, String severity, String description,
@@ -74,9 +121,9 @@ public class BugReporter {
             bug.setUrl(driver.getCurrentUrl());
             bug.setBrowserInfo(driver.getClass().getSimpleName());
             
-            // Take screenshot
-            String screenshotPath = ScreenshotUtils.takeScreenshotOnFailure(driver, testName + "_BUG");
-            bug.setScreenshotPath(screenshotPath);
+            // Screenshot dari pipeline; dipakai bersama kalau sudah ada capture untuk kegagalan ini
+            ArtifactPipeline.Capture capture = ArtifactPipeline.capture(driver, testName + "_BUG");
+            bug.setScreenshotPath(capture == null ? null : capture.getPath());
         }
         
         bugReports.add(bug);
@@ -123,6 +170,13 @@ public class BugReporter {
             writer.write(generateHTMLReport());
             writer.close();
             
+            // Data mentah untuk merge hasil beberapa shard
+            List<Map<String, Object>> data = new ArrayList<>();
+            for (BugReport bug : bugReports) {
+                data.add(bug.toMap());
+            }
+            Files.writeString(Paths.get(BUG_REPORT_DIR, BUG_DATA_FILE), JSON.toJson(data));
+            
             System.out.println("📋 Bug report generated: " + reportPath);
             System.out.println("Total bugs reported: " + bugReports.size());
             
@@ -213,6 +267,19 @@ public class BugReporter {
         return html.toString();
     }
     
+    /**
+     * Add the bugs saved by another run (e.g. a shard) to this report
+     */
+    public static List<BugReport> loadBugReports(Path bugDataFile) throws IOException {
+        List<Map<String, Object>> data = JSON.toType(Files.readString(bugDataFile), Json.LIST_OF_MAPS_TYPE);
+        List<BugReport> loaded = new ArrayList<>();
+        for (Map<String, Object> map : data) {
+            loaded.add(BugReport.fromMap(map));
+        }
+        bugReports.addAll(loaded);
+        return loaded;
+    }
+    
     public static int getBugCount() {
         return bugReports.size();
     }
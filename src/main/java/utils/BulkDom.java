@@ -0,0 +1,112 @@
+package utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * BulkDom - Reads (and toggles) the state of a whole group of elements in one executeScript call
+ * Asking every WebElement separately costs one WebDriver round trip per element; these
+ * queries cost one round trip no matter how many elements match
+ */
+public class BulkDom {
+
+    /**
+     * One option of a select element
+     */
+    public static class Option {
+        private final String text;
+        private final String value;
+        private final boolean selected;
+        private final boolean disabled;
+
+        Option(String text, String value, boolean selected, boolean disabled) {
+            this.text = text;
+            this.value = value;
+            this.selected = selected;
+            this.disabled = disabled;
+        }
+
+        public String getText() { return text; }
+        public String getValue() { return value; }
+        public boolean isSelected() { return selected; }
+        public boolean isDisabled() { return disabled; }
+    }
+
+    private static final String READ_CHECKED_SCRIPT = JsLocator.FIND_ALL
+            + "return findAll(arguments[0], arguments[1]).map(function (el) { return el.checked === true; });";
+
+    // click() supaya event click/input/change tetap jalan seperti interaksi user
+    private static final String SET_CHECKED_SCRIPT = JsLocator.FIND_ALL
+            + "var wanted = arguments[2], changed = 0;"
+            + "findAll(arguments[0], arguments[1]).forEach(function (el) {"
+            + "  if (el.checked !== wanted) { el.click(); changed++; }"
+            + "});"
+            + "return changed;";
+
+    private static final String READ_OPTIONS_SCRIPT = JsLocator.FIND_ALL
+            + "var select = findAll(arguments[0], arguments[1])[0];"
+            + "if (!select) { return null; }"
+            + "return Array.prototype.map.call(select.options, function (option) {"
+            + "  return { text: option.text, value: option.value, selected: option.selected, disabled: option.disabled };"
+            + "});";
+
+    private static final String READ_VISIBLE_TEXTS_SCRIPT = JsLocator.FIND_ALL
+            + "return findAll(arguments[0], arguments[1])"
+            + "  .filter(function (el) { return el.getClientRects().length > 0 && getComputedStyle(el).visibility !== 'hidden'; })"
+            + "  .map(function (el) { return el.innerText.trim(); });";
+
+    /**
+     * Checked flag of every element matching the locator, in document order
+     */
+    @SuppressWarnings("unchecked")
+    public static List<Boolean> readChecked(WebDriver driver, By locator) {
+        return (List<Boolean>) run(driver, READ_CHECKED_SCRIPT, locator);
+    }
+
+    /**
+     * Click every matching checkbox whose state differs from the wanted one; returns how many changed
+     */
+    public static int setAllChecked(WebDriver driver, By locator, boolean checked) {
+        return ((Number) run(driver, SET_CHECKED_SCRIPT, locator, checked)).intValue();
+    }
+
+    /**
+     * All options of the first select element matching the locator
+     */
+    @SuppressWarnings("unchecked")
+    public static List<Option> readOptions(WebDriver driver, By selectLocator) {
+        List<Map<String, Object>> raw = (List<Map<String, Object>>) run(driver, READ_OPTIONS_SCRIPT, selectLocator);
+        if (raw == null) {
+            throw new NoSuchElementException("No select element found: " + selectLocator);
+        }
+        List<Option> options = new ArrayList<>(raw.size());
+        for (Map<String, Object> option : raw) {
+            options.add(new Option((String) option.get("text"), (String) option.get("value"),
+                    Boolean.TRUE.equals(option.get("selected")), Boolean.TRUE.equals(option.get("disabled"))));
+        }
+        return options;
+    }
+
+    /**
+     * Text of every matching element that is currently visible
+     */
+    @SuppressWarnings("unchecked")
+    public static List<String> readVisibleTexts(WebDriver driver, By locator) {
+        return (List<String>) run(driver, READ_VISIBLE_TEXTS_SCRIPT, locator);
+    }
+
+    private static Object run(WebDriver driver, String script, By locator, Object... extraArgs) {
+        String[] query = JsLocator.requireQuery(locator);
+        Object[] args = new Object[2 + extraArgs.length];
+        args[0] = query[0];
+        args[1] = query[1];
+        System.arraycopy(extraArgs, 0, args, 2, extraArgs.length);
+        return ((JavascriptExecutor) driver).executeScript(script, args);
+    }
+}
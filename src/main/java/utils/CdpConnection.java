@@ -0,0 +1,134 @@
+package utils;
+
+import org.openqa.selenium.json.Json;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.WebSocket;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * CdpConnection - Minimal browser-level Chrome DevTools Protocol client
+ * Talks to the browser target directly (not a page), which is what
+ * Target.createBrowserContext and friends require
+ */
+public class CdpConnection implements AutoCloseable {
+
+    private static final Json JSON = new Json();
+    private static final long TIMEOUT_SECONDS = 30;
+
+    private final WebSocket webSocket;
+    private final AtomicInteger nextId = new AtomicInteger();
+    private final Map<Integer, CompletableFuture<Map<String, Object>>> pending = new ConcurrentHashMap<>();
+
+    private CdpConnection(WebSocket webSocket) {
+        this.webSocket = webSocket;
+    }
+
+    /**
+     * Connect to the browser endpoint of a Chrome started with --remote-debugging-port
+     */
+    public static CdpConnection connect(String debuggerAddress) throws Exception {
+        HttpClient client = HttpClient.newHttpClient();
+        HttpResponse<String> response = client.send(
+                HttpRequest.newBuilder(URI.create("http://" + debuggerAddress + "/json/version")).build(),
+                HttpResponse.BodyHandlers.ofString());
+        Map<String, Object> version = JSON.toType(response.body(), Json.MAP_TYPE);
+        String webSocketUrl = (String) version.get("webSocketDebuggerUrl");
+
+        Listener listener = new Listener();
+        WebSocket webSocket = client.newWebSocketBuilder()
+                .buildAsync(URI.create(webSocketUrl), listener)
+                .get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        CdpConnection connection = new CdpConnection(webSocket);
+        listener.connection = connection;
+        return connection;
+    }
+
+    /**
+     * Send a command and wait for its result
+     */
+    public Map<String, Object> send(String method, Map<String, Object> params) {
+        int id = nextId.incrementAndGet();
+        CompletableFuture<Map<String, Object>> result = new CompletableFuture<>();
+        pending.put(id, result);
+
+        Map<String, Object> message = new HashMap<>();
+        message.put("id", id);
+        message.put("method", method);
+        message.put("params", params == null ? Collections.emptyMap() : params);
+
+        try {
+            // WebSocket hanya boleh satu sendText yang berjalan
+            synchronized (webSocket) {
+                webSocket.sendText(JSON.toJson(message), true).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            }
+            return result.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("CDP command " + method + " failed: " + e.getCause().getMessage(), e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("CDP command " + method + " timed out", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for CDP command " + method, e);
+        } finally {
+            pending.remove(id);
+        }
+    }
+
+    @Override
+    public void close() {
+        webSocket.sendClose(WebSocket.NORMAL_CLOSURE, "");
+    }
+
+    @SuppressWarnings("unchecked")
+    private void onMessage(String text) {
+        Map<String, Object> message = JSON.toType(text, Json.MAP_TYPE);
+        Object id = message.get("id");
+        if (id == null) {
+            // Event, tidak dipakai
+            return;
+        }
+        CompletableFuture<Map<String, Object>> result = pending.get(((Number) id).intValue());
+        if (result == null) {
+            return;
+        }
+        if (message.containsKey("error")) {
+            Map<String, Object> error = (Map<String, Object>) message.get("error");
+            result.completeExceptionally(new IllegalStateException(String.valueOf(error.get("message"))));
+        } else {
+            Map<String, Object> value = (Map<String, Object>) message.get("result");
+            result.complete(value == null ? Collections.emptyMap() : value);
+        }
+    }
+
+    private static class Listener implements WebSocket.Listener {
+        private final StringBuilder buffer = new StringBuilder();
+        private volatile CdpConnection connection;
+
+        @Override
+        public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+            buffer.append(data);
+            if (last) {
+                String text = buffer.toString();
+                buffer.setLength(0);
+                if (connection != null) {
+                    connection.onMessage(text);
+                }
+            }
+            webSocket.request(1);
+            return null;
+        }
+    }
+}
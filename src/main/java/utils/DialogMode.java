@@ -0,0 +1,21 @@
+package utils;
+
+/**
+ * DialogMode - How AlertsPage answers JavaScript dialogs
+ * NATIVE waits for the real browser dialog and answers it through switchTo().alert();
+ * SYNTHETIC replaces window.alert/confirm/prompt with scripted answers that are recorded in the page.
+ * Default comes from -Ddialog.mode=native|synthetic
+ */
+public enum DialogMode {
+    NATIVE,
+    SYNTHETIC;
+
+    public static DialogMode getDefault() {
+        String mode = System.getProperty("dialog.mode", "native");
+        try {
+            return valueOf(mode.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown dialog.mode '" + mode + "', use native or synthetic", e);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package utils;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * DirectBufferPool - Reusable off-heap buffers for file I/O
+ * Direct buffers are costly to allocate and are not reclaimed promptly by the GC, so they are kept
+ * and handed out again instead. Size per buffer: -Dio.bufferKb=256
+ */
+public class DirectBufferPool {
+
+    private static final int BUFFER_SIZE = Integer.getInteger("io.bufferKb", 256) * 1024;
+    private static final int MAX_POOLED = 8;
+
+    private static final ConcurrentLinkedQueue<ByteBuffer> pool = new ConcurrentLinkedQueue<>();
+
+    public static ByteBuffer acquire() {
+        ByteBuffer buffer = pool.poll();
+        return buffer != null ? buffer : ByteBuffer.allocateDirect(BUFFER_SIZE);
+    }
+
+    public static void release(ByteBuffer buffer) {
+        if (buffer == null || !buffer.isDirect()) {
+            return;
+        }
+        buffer.clear();
+        if (pool.size() < MAX_POOLED) {
+            pool.offer(buffer);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package utils;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * DriverBinaryResolver - Resolves the chromedriver binary once per JVM
+ * The resolved path is kept in an on-disk cache keyed by Chrome version, so later
+ * runs find the driver without WebDriverManager and without network access
+ */
+public class DriverBinaryResolver {
+
+    private static final String CHROME_DRIVER_PROPERTY = "webdriver.chrome.driver";
+    private static final Path CACHE_FILE = Paths.get(System.getProperty("driver.cache.file",
+            System.getProperty("user.home") + "/.cache/herokuapp-automation/driver-cache.properties"));
+    private static final Pattern VERSION_PATTERN = Pattern.compile("(\\d+\\.\\d+\\.\\d+\\.\\d+)");
+
+    private static volatile String chromeDriverPath;
+    private static volatile long resolveMillis;
+    private static volatile boolean cacheHit;
+
+    /**
+     * Path of the chromedriver binary; only the first call does any I/O
+     */
+    public static String resolveChromeDriver() {
+        String path = chromeDriverPath;
+        if (path != null) {
+            return path;
+        }
+        synchronized (DriverBinaryResolver.class) {
+            if (chromeDriverPath == null) {
+                long startNanos = System.nanoTime();
+                String resolved = resolve();
+                System.setProperty(CHROME_DRIVER_PROPERTY, resolved);
+                resolveMillis = (System.nanoTime() - startNanos) / 1_000_000;
+                chromeDriverPath = resolved;
+                System.out.println("🔧 ChromeDriver resolved in " + resolveMillis + " ms ("
+                        + (cacheHit ? "cache hit" : "cache miss") + "): " + resolved);
+            }
+            return chromeDriverPath;
+        }
+    }
+
+    /**
+     * How long the one-time resolution took, for comparing a cold run with a cached one
+     */
+    public static long getResolveMillis() {
+        return resolveMillis;
+    }
+
+    public static boolean wasCacheHit() {
+        return cacheHit;
+    }
+
+    private static String resolve() {
+        // Driver yang di-set manual selalu menang
+        String configured = System.getProperty(CHROME_DRIVER_PROPERTY);
+        if (isUsable(configured)) {
+            cacheHit = true;
+            return configured;
+        }
+
+        Optional<String> browserVersion = detectChromeVersion();
+        String cacheKey = "chromedriver." + browserVersion.orElse("unknown");
+
+        Properties cache = loadCache();
+        String cached = cache.getProperty(cacheKey);
+        if (isUsable(cached)) {
+            cacheHit = true;
+            return cached;
+        }
+
+        cacheHit = false;
+        WebDriverManager manager = WebDriverManager.chromedriver();
+        if (browserVersion.isPresent()) {
+            manager.browserVersion(browserVersion.get().split("\\.")[0]);
+        }
+        manager.setup();
+        String resolved = manager.getDownloadedDriverPath();
+
+        // Only versioned entries are cached, otherwise a browser upgrade would keep a stale driver
+        if (browserVersion.isPresent() && isUsable(resolved)) {
+            cache.setProperty(cacheKey, resolved);
+            saveCache(cache);
+        }
+        return resolved;
+    }
+
+    private static Optional<String> detectChromeVersion() {
+        String[] commands = {"google-chrome", "google-chrome-stable", "chromium", "chromium-browser",
+                "/Applications/Google Chrome.app/Contents/MacOS/Google Chrome"};
+        for (String command : commands) {
+            Optional<String> version = runVersionCommand(command);
+            if (version.isPresent()) {
+                return version;
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static Optional<String> runVersionCommand(String command) {
+        Path outputFile = null;
+        Process process = null;
+        try {
+            // Output ke file, bukan pipe: membaca pipe menunggu sampai proses selesai dan membuat timeout tidak berguna
+            outputFile = Files.createTempFile("browser-version", ".txt");
+            process = new ProcessBuilder(command, "--version")
+                    .redirectErrorStream(true)
+                    .redirectOutput(outputFile.toFile())
+                    .start();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                System.err.println("'" + command + " --version' did not finish within 10 s, skipping it");
+                return Optional.empty();
+            }
+            String output = new String(Files.readAllBytes(outputFile), StandardCharsets.UTF_8);
+            Matcher matcher = VERSION_PATTERN.matcher(output);
+            return matcher.find() ? Optional.of(matcher.group(1)) : Optional.empty();
+        } catch (IOException e) {
+            return Optional.empty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        } finally {
+            if (process != null && process.isAlive()) {
+                // Launcher script (mis. google-chrome) bisa meninggalkan child process
+                process.descendants().forEach(ProcessHandle::destroyForcibly);
+                process.destroyForcibly();
+            }
+            if (outputFile != null) {
+                try {
+                    Files.deleteIfExists(outputFile);
+                } catch (IOException e) {
+                    // File sementara, tidak masalah kalau tertinggal
+                }
+            }
+        }
+    }
+
+    private static boolean isUsable(String path) {
+        return path != null && !path.isEmpty() && Files.isExecutable(Paths.get(path));
+    }
+
+    private static Properties loadCache() {
+        Properties cache = new Properties();
+        if (Files.exists(CACHE_FILE)) {
+            try (InputStream in = Files.newInputStream(CACHE_FILE)) {
+                cache.load(in);
+            } catch (IOException e) {
+                System.err.println("Failed to read driver cache: " + e.getMessage());
+            }
+        }
+        return cache;
+    }
+
+    private static void saveCache(Properties cache) {
+        try {
+            Files.createDirectories(CACHE_FILE.getParent());
+            // Tulis ke temp file dulu supaya fork lain tidak membaca file setengah jadi
+            Path tempFile = Files.createTempFile(CACHE_FILE.getParent(), "driver-cache", ".tmp");
+            try (OutputStream out = Files.newOutputStream(tempFile)) {
+                cache.store(out, "Resolved WebDriver binaries by browser version");
+            }
+            Files.move(tempFile, CACHE_FILE, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Failed to write driver cache: " + e.getMessage());
+        }
+    }
+}
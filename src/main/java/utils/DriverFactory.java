@@ -0,0 +1,38 @@
+package utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+/**
+ * DriverFactory - Single place where new browser sessions are launched
+ * Keeps the Chrome options used by the base test classes in one spot
+ */
+public class DriverFactory {
+
+    /**
+     * Chrome options untuk stabilitas, shared by JUnit and TestNG base classes
+     */
+    public static ChromeOptions defaultOptions() {
+        ChromeOptions options = new ChromeOptions();
+        options.addArguments("--disable-blink-features=AutomationControlled");
+        options.addArguments("--disable-extensions");
+        options.addArguments("--no-sandbox");
+        options.addArguments("--disable-dev-shm-usage");
+        return options;
+    }
+
+    /**
+     * Launch a brand-new Chrome session with the default options, or a new isolated
+     * browser context in the shared Chrome when running with -Ddriver.mode=context
+     */
+    public static WebDriver createDriver() {
+        DriverBinaryResolver.resolveChromeDriver();
+
+        WebDriver driver = BrowserContextHost.isEnabled()
+                ? BrowserContextHost.createContextDriver()
+                : new ChromeDriver(defaultOptions());
+        driver.manage().window().maximize();
+        return driver;
+    }
+}
@@ -0,0 +1,91 @@
+package utils;
+
+import org.openqa.selenium.WebDriver;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * DriverManager - Thread-confined registry of the browser session owned by the current test
+ * Base classes, page objects and listeners look the driver up here instead of sharing
+ * an instance field, so suites can run with parallel="methods" or "classes"
+ */
+public class DriverManager {
+
+    private static final ThreadLocal<WebDriver> currentDriver = new ThreadLocal<>();
+    private static final Map<WebDriver, Thread> owners = new ConcurrentHashMap<>();
+
+    /**
+     * Take a session from the pool and bind it to the current thread
+     */
+    public static WebDriver startDriver() {
+        return startDriver(null);
+    }
+
+    /**
+     * Take a session from the pool, preferring one already on the given page, and bind it
+     */
+    public static WebDriver startDriver(String preferredUrl) {
+        WebDriver driver = DriverPool.acquire(preferredUrl);
+        setDriver(driver);
+        return driver;
+    }
+
+    /**
+     * Bind a session to the current thread; a session can only ever be owned by one thread
+     */
+    public static void setDriver(WebDriver driver) {
+        if (driver == null) {
+            throw new IllegalArgumentException("Driver must not be null");
+        }
+        Thread current = Thread.currentThread();
+        // Cek thread ini dulu, supaya session yang ditolak tidak tercatat sebagai milik thread ini
+        WebDriver previous = currentDriver.get();
+        if (previous != null && previous != driver) {
+            throw new IllegalStateException("Thread " + current.getName() + " already owns a browser session");
+        }
+        Thread owner = owners.putIfAbsent(driver, current);
+        if (owner != null && owner != current) {
+            throw new IllegalStateException("Browser session is already in use by thread " + owner.getName());
+        }
+        currentDriver.set(driver);
+    }
+
+    /**
+     * Session bound to the current thread
+     */
+    public static WebDriver getDriver() {
+        WebDriver driver = currentDriver.get();
+        if (driver == null) {
+            throw new IllegalStateException("No browser session bound to thread " + Thread.currentThread().getName());
+        }
+        return driver;
+    }
+
+    public static boolean hasDriver() {
+        return currentDriver.get() != null;
+    }
+
+    /**
+     * Unbind the current thread's session without returning it to the pool
+     */
+    public static WebDriver unbind() {
+        WebDriver driver = currentDriver.get();
+        currentDriver.remove();
+        if (driver != null) {
+            owners.remove(driver);
+        }
+        return driver;
+    }
+
+    /**
+     * Unbind the current thread's session and hand it back to the pool
+     */
+    public static void releaseDriver() {
+        DriverPool.release(unbind());
+    }
+
+    public static int getActiveSessionCount() {
+        return owners.size();
+    }
+}
@@ -0,0 +1,300 @@
+package utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoAlertPresentException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * DriverPool - Hands out warm browser sessions instead of launching Chrome for every test
+ * Sessions are reset (cookies, storage, extra windows) when released and only
+ * replaced by a fresh launch when that reset fails. Sessions can be pre-warmed on
+ * background threads so tests never wait on a Chrome launch. A released session stays on its
+ * page, so a test that starts on that page can take it without loading it again
+ */
+public class DriverPool {
+
+    private static final int MAX_IDLE = Integer.getInteger("driver.pool.maxIdle", 4);
+    private static final int SPARES = Integer.getInteger("driver.pool.spares", 1);
+    private static final long LAUNCH_WAIT_SECONDS = Long.getLong("driver.pool.launchWaitSeconds", 60);
+
+    private static final LinkedBlockingDeque<WebDriver> idleDrivers = new LinkedBlockingDeque<>();
+    private static final Set<WebDriver> allDrivers = ConcurrentHashMap.newKeySet();
+    private static final Map<WebDriver, String> primaryWindows = new ConcurrentHashMap<>();
+    private static final Map<WebDriver, String> cleanPages = new ConcurrentHashMap<>();
+
+    private static final AtomicInteger launches = new AtomicInteger();
+    private static final AtomicInteger reuses = new AtomicInteger();
+    private static final AtomicInteger resetFailures = new AtomicInteger();
+    private static final AtomicInteger pendingLaunches = new AtomicInteger();
+    private static final AtomicInteger targetSize = new AtomicInteger();
+    private static final AtomicBoolean shuttingDown = new AtomicBoolean();
+    private static final List<Long> launchMillis = new CopyOnWriteArrayList<>();
+
+    private static final AtomicInteger launcherThreadCount = new AtomicInteger();
+    private static final ExecutorService launcher = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "driver-prewarm-" + launcherThreadCount.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(DriverPool::shutdown, "driver-pool-shutdown"));
+    }
+
+    /**
+     * Get a browser session - a warm one from the pool if available, otherwise a new launch
+     */
+    public static WebDriver acquire() {
+        WebDriver driver = idleDrivers.pollFirst();
+        if (driver == null && pendingLaunches.get() > 0) {
+            // Sesi sedang di-launch di background, tunggu itu daripada launch sendiri
+            try {
+                driver = idleDrivers.pollFirst(LAUNCH_WAIT_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (driver != null) {
+            reuses.incrementAndGet();
+            System.out.println("♻️ Reusing warm browser session");
+            topUpSpares();
+            return driver;
+        }
+        driver = launch();
+        topUpSpares();
+        return driver;
+    }
+
+    /**
+     * Like acquire(), but prefers an idle session that is still on a clean copy of the given page
+     */
+    public static WebDriver acquire(String preferredUrl) {
+        if (preferredUrl != null) {
+            for (WebDriver idle : idleDrivers) {
+                if (preferredUrl.equals(cleanPages.get(idle)) && idleDrivers.remove(idle)) {
+                    reuses.incrementAndGet();
+                    System.out.println("♻️ Reusing warm browser session already on " + preferredUrl);
+                    topUpSpares();
+                    return idle;
+                }
+            }
+        }
+        return acquire();
+    }
+
+    /**
+     * Start launching sessions on background threads until the pool holds the given number
+     */
+    public static void prewarm(int sessions) {
+        targetSize.accumulateAndGet(sessions, Math::max);
+        int missing = sessions - idleDrivers.size() - pendingLaunches.get();
+        if (missing > 0) {
+            System.out.println("🔥 Pre-warming " + missing + " browser session(s)");
+        }
+        for (int i = 0; i < missing; i++) {
+            launchInBackground();
+        }
+    }
+
+    /**
+     * Return a session to the pool; it is reset first and quit if the reset fails
+     */
+    public static void release(WebDriver driver) {
+        if (driver == null) {
+            return;
+        }
+        if (!reset(driver)) {
+            resetFailures.incrementAndGet();
+            System.out.println("⚠️ Browser reset failed - discarding session");
+            discard(driver);
+            return;
+        }
+        if (idleDrivers.size() >= Math.max(MAX_IDLE, targetSize.get() + SPARES)) {
+            discard(driver);
+            return;
+        }
+        idleDrivers.offerFirst(driver);
+    }
+
+    /**
+     * Quit a session without returning it to the pool
+     */
+    public static void discard(WebDriver driver) {
+        if (driver == null) {
+            return;
+        }
+        allDrivers.remove(driver);
+        primaryWindows.remove(driver);
+        cleanPages.remove(driver);
+        ArtifactPipeline.forgetDriver(driver);
+        BrowserContextHost.closeContextDriver(driver);
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            System.err.println("Failed to quit browser: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Quit every session the pool has launched
+     */
+    public static void shutdown() {
+        shuttingDown.set(true);
+        launcher.shutdownNow();
+        try {
+            launcher.awaitTermination(LAUNCH_WAIT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        idleDrivers.clear();
+        for (WebDriver driver : allDrivers) {
+            discard(driver);
+        }
+        BrowserContextHost.shutdown();
+        if (launches.get() > 0) {
+            System.out.println("🏊 Driver pool: " + launches.get() + " launches, " + reuses.get()
+                    + " reuses, " + resetFailures.get() + " reset failures");
+            long total = 0;
+            long max = 0;
+            for (long millis : launchMillis) {
+                total += millis;
+                max = Math.max(max, millis);
+            }
+            System.out.println("🚀 Launch time: avg " + (total / launchMillis.size()) + " ms, max " + max + " ms");
+        }
+    }
+
+    public static int getLaunchCount() {
+        return launches.get();
+    }
+
+    public static int getReuseCount() {
+        return reuses.get();
+    }
+
+    public static int getIdleCount() {
+        return idleDrivers.size();
+    }
+
+    public static List<Long> getLaunchTimes() {
+        return Collections.unmodifiableList(launchMillis);
+    }
+
+    public static Set<WebDriver> getActiveDrivers() {
+        return Collections.unmodifiableSet(allDrivers);
+    }
+
+    private static WebDriver launch() {
+        System.out.println("🚀 Launching new browser session");
+        long startNanos = System.nanoTime();
+        WebDriver driver = DriverFactory.createDriver();
+        launchMillis.add((System.nanoTime() - startNanos) / 1_000_000);
+        launches.incrementAndGet();
+        allDrivers.add(driver);
+        primaryWindows.put(driver, driver.getWindowHandle());
+        return driver;
+    }
+
+    private static void launchInBackground() {
+        pendingLaunches.incrementAndGet();
+        try {
+            launcher.execute(() -> {
+                try {
+                    WebDriver driver = launch();
+                    if (shuttingDown.get()) {
+                        discard(driver);
+                    } else {
+                        idleDrivers.offerLast(driver);
+                    }
+                } catch (Exception e) {
+                    System.err.println("Failed to pre-warm browser: " + e.getMessage());
+                } finally {
+                    pendingLaunches.decrementAndGet();
+                }
+            });
+        } catch (RuntimeException e) {
+            // Executor sudah shutdown
+            pendingLaunches.decrementAndGet();
+        }
+    }
+
+    /**
+     * Keep the configured number of spare sessions ready or launching
+     */
+    private static void topUpSpares() {
+        int missing = SPARES - idleDrivers.size() - pendingLaunches.get();
+        for (int i = 0; i < missing; i++) {
+            launchInBackground();
+        }
+    }
+
+    /**
+     * Bring a used session back to a clean state without restarting the browser
+     */
+    private static boolean reset(WebDriver driver) {
+        try {
+            if (BrowserContextHost.isContextDriver(driver)) {
+                // Context baru = cookies, storage dan window bersih sekaligus
+                BrowserContextHost.resetContext(driver);
+                primaryWindows.put(driver, driver.getWindowHandle());
+                cleanPages.remove(driver);
+                return true;
+            }
+
+            // Tutup alert yang masih terbuka, kalau tidak semua command berikutnya gagal
+            try {
+                driver.switchTo().alert().dismiss();
+            } catch (NoAlertPresentException e) {
+                // No open alert
+            }
+
+            // Tutup semua window tambahan dan kembali ke window utama
+            String primary = primaryWindows.get(driver);
+            for (String handle : driver.getWindowHandles()) {
+                if (!handle.equals(primary)) {
+                    driver.switchTo().window(handle);
+                    driver.close();
+                }
+            }
+            driver.switchTo().window(primary);
+
+            // Halaman yang belum disentuh dipertahankan dan URL-nya dicatat supaya bisa dipakai lagi
+            String cleanUrl = (String) ((JavascriptExecutor) driver).executeScript(
+                    "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}"
+                    + PageNavigator.CLEAN_URL_SCRIPT);
+
+            // deleteAllCookies only covers the current domain, CDP clears every domain
+            if (driver instanceof HasCdp) {
+                ((HasCdp) driver).executeCdpCommand("Network.clearBrowserCookies", Collections.emptyMap());
+            } else {
+                driver.manage().deleteAllCookies();
+            }
+
+            if (cleanUrl != null) {
+                cleanPages.put(driver, cleanUrl);
+            } else {
+                // Halaman kotor jangan sampai terlihat oleh test berikutnya (mis. test tanpa @StartsOn)
+                cleanPages.remove(driver);
+                driver.get("about:blank");
+            }
+            return true;
+        } catch (Exception e) {
+            System.err.println("Failed to reset browser: " + e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+
+/**
+ * DurationScheduler - Longest-processing-time-first planning of tests over a fixed number of workers
+ * Tests are sorted by expected duration (longest first) and each goes to the worker that frees up
+ * earliest, which is what a thread pool picking from an ordered queue does anyway. The plan keeps
+ * the predicted start/finish of every test so it can be compared with the real run afterwards.
+ * planGroups does the same with tests of one group (start page) kept next to each other
+ */
+public class DurationScheduler {
+
+    /**
+     * Predicted placement of one test
+     */
+    public static class Slot {
+        private final String testId;
+        private final int worker;
+        private final long predictedStart;
+        private final long predictedFinish;
+
+        Slot(String testId, int worker, long predictedStart, long predictedFinish) {
+            this.testId = testId;
+            this.worker = worker;
+            this.predictedStart = predictedStart;
+            this.predictedFinish = predictedFinish;
+        }
+
+        public String getTestId() { return testId; }
+        public int getWorker() { return worker; }
+        public long getPredictedStart() { return predictedStart; }
+        public long getPredictedFinish() { return predictedFinish; }
+    }
+
+    /**
+     * Full plan: tests in the order they should be queued, with their predicted slots
+     */
+    public static class Plan {
+        private final Map<String, Slot> slots;
+        private final long makespan;
+
+        Plan(Map<String, Slot> slots, long makespan) {
+            this.slots = slots;
+            this.makespan = makespan;
+        }
+
+        public List<String> getOrder() { return new ArrayList<>(slots.keySet()); }
+        public Slot getSlot(String testId) { return slots.get(testId); }
+        public long getMakespan() { return makespan; }
+    }
+
+    /**
+     * Plan the given tests (id -> expected millis) over the given number of workers
+     */
+    public static Plan plan(Map<String, Long> expectedMillis, int workers) {
+        return simulate(longestFirst(expectedMillis.keySet(), expectedMillis), expectedMillis, workers);
+    }
+
+    /**
+     * Plan with tests of the same group (e.g. start page) kept together: groups are weighted by their
+     * total duration and queued heaviest first, tests inside a group longest first
+     */
+    public static Plan planGroups(Map<String, Long> expectedMillis, Function<String, String> groupOf, int workers) {
+        Map<String, List<String>> groups = new LinkedHashMap<>();
+        Map<String, Long> totals = new HashMap<>();
+        for (String testId : longestFirst(expectedMillis.keySet(), expectedMillis)) {
+            String group = groupOf.apply(testId);
+            groups.computeIfAbsent(group, key -> new ArrayList<>()).add(testId);
+            totals.merge(group, expectedMillis.get(testId), Long::sum);
+        }
+        List<String> order = new ArrayList<>();
+        longestFirst(groups.keySet(), totals).forEach(group -> order.addAll(groups.get(group)));
+        return simulate(order, expectedMillis, workers);
+    }
+
+    /**
+     * Predicted slots when the workers take the tests in exactly this order, each test going to the
+     * worker that frees up earliest (what a thread pool reading an ordered queue does)
+     */
+    public static Plan simulate(List<String> order, Map<String, Long> expectedMillis, int workers) {
+        // Worker yang paling cepat selesai ada di depan queue: {finishTime, workerIndex}
+        PriorityQueue<long[]> freeAt = new PriorityQueue<>(
+                Comparator.<long[]>comparingLong(w -> w[0]).thenComparingLong(w -> w[1]));
+        for (int i = 0; i < Math.max(1, workers); i++) {
+            freeAt.add(new long[]{0, i});
+        }
+
+        Map<String, Slot> slots = new LinkedHashMap<>();
+        long makespan = 0;
+        for (String testId : order) {
+            long[] worker = freeAt.poll();
+            long start = worker[0];
+            long finish = start + expectedMillis.get(testId);
+            slots.put(testId, new Slot(testId, (int) worker[1], start, finish));
+            makespan = Math.max(makespan, finish);
+            worker[0] = finish;
+            freeAt.add(worker);
+        }
+        return new Plan(slots, makespan);
+    }
+
+    private static List<String> longestFirst(Collection<String> keys, Map<String, Long> weights) {
+        List<String> sorted = new ArrayList<>(keys);
+        // Terlama dulu, id sebagai tie-breaker supaya urutan selalu sama
+        sorted.sort(Comparator.comparing((String key) -> weights.get(key), Collections.reverseOrder())
+                .thenComparing(Comparator.naturalOrder()));
+        return sorted;
+    }
+}
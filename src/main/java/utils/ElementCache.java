@@ -0,0 +1,132 @@
+package utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * ElementCache - Element handles reused for as long as the page they came from is still shown
+ * One cache per page object instance. A handle is looked up once and reused until the page object
+ * navigates (invalidate) or the browser reports it stale, in which case it is looked up again and
+ * the action retried once. Not thread-safe, like the page objects that own it
+ */
+public class ElementCache {
+
+    private static final AtomicInteger totalHits = new AtomicInteger();
+    private static final AtomicInteger totalMisses = new AtomicInteger();
+    private static final AtomicInteger totalStale = new AtomicInteger();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(ElementCache::printSummary, "element-cache-summary"));
+    }
+
+    private final WebDriver driver;
+    private final Map<By, WebElement> elements = new HashMap<>();
+    private final Map<By, List<WebElement>> lists = new HashMap<>();
+    private int hits;
+    private int misses;
+
+    public ElementCache(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    /**
+     * Run an action on the element, e.g. read(checkbox, WebElement::isSelected)
+     */
+    public <T> T read(By locator, Function<WebElement, T> action) {
+        WebElement cached = elements.get(locator);
+        if (cached != null) {
+            try {
+                T result = action.apply(cached);
+                hit();
+                return result;
+            } catch (StaleElementReferenceException | NoSuchElementException e) {
+                // Handle dari dokumen lama - cari ulang di halaman sekarang
+                stale(locator);
+            }
+        }
+        miss();
+        WebElement element = driver.findElement(locator);
+        elements.put(locator, element);
+        return action.apply(element);
+    }
+
+    /**
+     * Run an action on all elements matching the locator; an empty result is never cached
+     */
+    public <T> T readAll(By locator, Function<List<WebElement>, T> action) {
+        List<WebElement> cached = lists.get(locator);
+        if (cached != null) {
+            try {
+                T result = action.apply(cached);
+                hit();
+                return result;
+            } catch (StaleElementReferenceException | NoSuchElementException e) {
+                stale(locator);
+            }
+        }
+        miss();
+        List<WebElement> found = driver.findElements(locator);
+        if (!found.isEmpty()) {
+            lists.put(locator, found);
+        }
+        return action.apply(found);
+    }
+
+    /**
+     * Keep an element that was already looked up (e.g. returned by a wait) for later reads
+     */
+    public WebElement remember(By locator, WebElement element) {
+        elements.put(locator, element);
+        return element;
+    }
+
+    /**
+     * Forget every handle; call after anything that loads another document
+     */
+    public void invalidate() {
+        elements.clear();
+        lists.clear();
+    }
+
+    public int getHits() {
+        return hits;
+    }
+
+    public int getMisses() {
+        return misses;
+    }
+
+    public static void printSummary() {
+        int lookups = totalHits.get() + totalMisses.get();
+        if (lookups == 0) {
+            return;
+        }
+        System.out.println("🗃️ Element cache: " + totalHits.get() + " hits | " + totalMisses.get() + " lookups | "
+                + totalStale.get() + " stale re-resolved (" + totalHits.get() * 100 / lookups + "% findElement saved)");
+    }
+
+    private void hit() {
+        hits++;
+        totalHits.incrementAndGet();
+    }
+
+    private void miss() {
+        misses++;
+        totalMisses.incrementAndGet();
+    }
+
+    private void stale(By locator) {
+        elements.remove(locator);
+        lists.remove(locator);
+        totalStale.incrementAndGet();
+    }
+}
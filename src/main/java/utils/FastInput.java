@@ -0,0 +1,133 @@
+package utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * FastInput - Form interactions done in a single executeScript call (InteractionMode.FAST)
+ * Values are set the way the browser would set them and the same input/change events are fired,
+ * then the result is read back in the same call so callers can verify it without another round trip
+ */
+public class FastInput {
+
+    /**
+     * How selectOption identifies the option, mirroring Select.selectByValue / ByVisibleText / ByIndex
+     */
+    public enum Match {
+        VALUE, TEXT, INDEX
+    }
+
+    // null selama select belum ada di halaman, supaya WaitEngine bisa polling
+    private static final String SELECT_OPTION_SCRIPT = JsLocator.FIND_ALL
+            + "var select = findAll(arguments[0], arguments[1])[0], match = arguments[2], key = arguments[3];"
+            + "if (!select) { return null; }"
+            + "if (select.disabled) { return { error: 'disabled', message: 'Dropdown is disabled' }; }"
+            + "function normalize(text) { return text.replace(/\\s+/g, ' ').trim(); }"
+            + "var target = -1;"
+            + "for (var i = 0; i < select.options.length; i++) {"
+            + "  var option = select.options[i];"
+            + "  if ((match === 'VALUE' && option.value === key)"
+            + "      || (match === 'TEXT' && normalize(option.text) === normalize(key))"
+            + "      || (match === 'INDEX' && i === Number(key))) { target = i; break; }"
+            + "}"
+            + "if (target < 0) { return { error: 'missing', message: 'Cannot locate option with ' + match.toLowerCase() + ': ' + key }; }"
+            + "if (select.options[target].disabled) { return { error: 'disabled', message: 'You may not select a disabled option' }; }"
+            + "if (select.selectedIndex !== target) {"
+            + "  select.selectedIndex = target;"
+            + "  select.dispatchEvent(new Event('input', { bubbles: true }));"
+            + "  select.dispatchEvent(new Event('change', { bubbles: true }));"
+            + "}"
+            + "var selected = select.options[select.selectedIndex];"
+            + "return { index: select.selectedIndex, value: selected ? selected.value : null, text: selected ? selected.text : null };";
+
+    // Native setter dipakai supaya listener framework (React dkk.) juga melihat perubahan value
+    private static final String FILL_AND_SUBMIT_SCRIPT = JsLocator.FIND_ALL
+            + "var fields = arguments[0], submit = findAll(arguments[1], arguments[2])[0], elements = [];"
+            + "for (var i = 0; i < fields.length; i++) {"
+            + "  var el = findAll(fields[i][0], fields[i][1])[0];"
+            + "  if (!el) { return null; }"
+            + "  elements.push(el);"
+            + "}"
+            + "if (!submit) { return null; }"
+            + "var setter = Object.getOwnPropertyDescriptor(HTMLInputElement.prototype, 'value').set;"
+            + "for (var j = 0; j < elements.length; j++) {"
+            + "  var field = elements[j];"
+            + "  field.focus();"
+            + "  setter.call(field, fields[j][2]);"
+            + "  field.dispatchEvent(new Event('input', { bubbles: true }));"
+            + "  field.dispatchEvent(new Event('change', { bubbles: true }));"
+            + "  if (field.value !== fields[j][2]) { return { error: 'field ' + fields[j][1] + ' did not accept its value' }; }"
+            + "}"
+            + "window.__formSubmitted = true;"
+            + "submit.click();"
+            + "return { submitted: true };";
+
+    /**
+     * Script check that is true while the document a fillAndSubmit came from is still shown
+     */
+    public static final String STILL_ON_SUBMITTED_PAGE = "window.__formSubmitted === true";
+
+    /**
+     * Fill text fields (locator -> value, in order) and click submit in one script call.
+     * Each field gets focus, its value and input/change events; values are checked before submitting
+     */
+    public static void fillAndSubmit(WaitEngine wait, Map<By, String> fields, By submit) {
+        List<List<String>> fieldQueries = new ArrayList<>();
+        for (Map.Entry<By, String> field : fields.entrySet()) {
+            String[] query = JsLocator.requireQuery(field.getKey());
+            fieldQueries.add(Arrays.asList(query[0], query[1], field.getValue()));
+        }
+        String[] submitQuery = JsLocator.requireQuery(submit);
+        Map<?, ?> result = wait.until(submit.toString(), driver -> (Map<?, ?>) ((JavascriptExecutor) driver)
+                .executeScript(FILL_AND_SUBMIT_SCRIPT, fieldQueries, submitQuery[0], submitQuery[1]));
+        if (result.get("error") != null) {
+            throw new IllegalStateException("Form not submitted: " + result.get("error"));
+        }
+    }
+
+    /**
+     * Select an option and return what the dropdown shows afterwards; fails if the selection did not stick
+     */
+    @SuppressWarnings("unchecked")
+    public static BulkDom.Option selectOption(WaitEngine wait, By select, Match match, String key) {
+        String[] query = JsLocator.requireQuery(select);
+        Map<String, Object> result = wait.until(select.toString(), driver -> (Map<String, Object>) ((JavascriptExecutor) driver)
+                .executeScript(SELECT_OPTION_SCRIPT, query[0], query[1], match.name(), key));
+
+        Object error = result.get("error");
+        if ("missing".equals(error)) {
+            throw new NoSuchElementException((String) result.get("message"));
+        }
+        if (error != null) {
+            throw new UnsupportedOperationException((String) result.get("message"));
+        }
+
+        BulkDom.Option selected = new BulkDom.Option((String) result.get("text"), (String) result.get("value"), true, false);
+        boolean stuck;
+        switch (match) {
+            case VALUE:
+                stuck = key.equals(selected.getValue());
+                break;
+            case TEXT:
+                stuck = selected.getText() != null && normalize(key).equals(normalize(selected.getText()));
+                break;
+            default:
+                stuck = Integer.parseInt(key) == ((Number) result.get("index")).intValue();
+        }
+        if (!stuck) {
+            throw new IllegalStateException("Dropdown " + select + " shows '" + selected.getText()
+                    + "' after selecting " + match.name().toLowerCase() + " '" + key + "'");
+        }
+        return selected;
+    }
+
+    private static String normalize(String text) {
+        return text.replaceAll("\\s+", " ").trim();
+    }
+}
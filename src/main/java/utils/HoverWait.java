@@ -0,0 +1,55 @@
+package utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.time.Duration;
+
+/**
+ * HoverWait - Waits inside the browser until a hover-revealed element is really visible
+ * The check uses the computed style and is re-run on every animation frame, on
+ * transitionend and on DOM/attribute mutations, so it returns as soon as the element shows
+ * instead of after a fixed sleep. Default timeout -Dhover.timeoutMillis=2000
+ */
+public class HoverWait {
+
+    private static final long DEFAULT_TIMEOUT_MILLIS = Long.getLong("hover.timeoutMillis", 2000);
+
+    private static final String WAIT_VISIBLE_SCRIPT =
+            "var el = arguments[0], timeout = arguments[1], done = arguments[arguments.length - 1];"
+            + "function visible() {"
+            + "  var style = window.getComputedStyle(el), rect = el.getBoundingClientRect();"
+            + "  return style.display !== 'none' && style.visibility !== 'hidden'"
+            + "      && parseFloat(style.opacity) > 0 && rect.width > 0 && rect.height > 0;"
+            + "}"
+            + "if (visible()) { done(true); return; }"
+            + "var finished = false, observer = new MutationObserver(check), timer;"
+            + "function finish(result) {"
+            + "  if (finished) { return; }"
+            + "  finished = true;"
+            + "  observer.disconnect();"
+            + "  el.removeEventListener('transitionend', check);"
+            + "  clearTimeout(timer);"
+            + "  done(result);"
+            + "}"
+            + "function check() { if (visible()) { finish(true); } }"
+            // :hover tidak memicu mutation, jadi tetap dicek setiap frame
+            + "function frame() { check(); if (!finished) { requestAnimationFrame(frame); } }"
+            + "observer.observe(el.parentNode || el, { attributes: true, childList: true, subtree: true });"
+            + "el.addEventListener('transitionend', check);"
+            + "timer = setTimeout(function () { finish(visible()); }, timeout);"
+            + "requestAnimationFrame(frame);";
+
+    public static boolean waitUntilVisible(WebDriver driver, WebElement element) {
+        return waitUntilVisible(driver, element, Duration.ofMillis(DEFAULT_TIMEOUT_MILLIS));
+    }
+
+    /**
+     * Returns true as soon as the element is visible, false if it is still hidden after the timeout
+     */
+    public static boolean waitUntilVisible(WebDriver driver, WebElement element, Duration timeout) {
+        Object visible = ((JavascriptExecutor) driver).executeAsyncScript(WAIT_VISIBLE_SCRIPT, element, timeout.toMillis());
+        return Boolean.TRUE.equals(visible);
+    }
+}
@@ -0,0 +1,25 @@
+package utils;
+
+/**
+ * InteractionMode - How page objects drive form controls
+ * FAST sets values and fires the input/change events in one script call; REALISTIC goes through
+ * WebDriver element commands (clicks, Select, keystrokes) like a user would.
+ * -Dinteraction.mode=fast|realistic sets the mode for every page object; without it each page object
+ * keeps its own default (DropdownPage: realistic, LoginPage: fast)
+ */
+public enum InteractionMode {
+    FAST,
+    REALISTIC;
+
+    public static InteractionMode getDefault(InteractionMode pageDefault) {
+        String mode = System.getProperty("interaction.mode");
+        if (mode == null) {
+            return pageDefault;
+        }
+        try {
+            return valueOf(mode.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown interaction.mode '" + mode + "', use fast or realistic", e);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package utils;
+
+import org.openqa.selenium.By;
+
+/**
+ * JsLocator - Lets in-browser scripts resolve the page objects' By locators
+ * Supports By.id, By.cssSelector and By.xpath; scripts include FIND_ALL and call
+ * findAll(type, value) with the pair returned by toQuery
+ */
+public class JsLocator {
+
+    public static final String FIND_ALL =
+            "function findAll(type, value) {"
+            + "  if (type === 'xpath') {"
+            + "    var result = document.evaluate(value, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null), nodes = [];"
+            + "    for (var i = 0; i < result.snapshotLength; i++) { nodes.push(result.snapshotItem(i)); }"
+            + "    return nodes;"
+            + "  }"
+            + "  if (type === 'id') { var el = document.getElementById(value); return el ? [el] : []; }"
+            + "  return Array.prototype.slice.call(document.querySelectorAll(value));"
+            + "}";
+
+    /**
+     * {type, value} for findAll, or null if the locator type is not supported
+     */
+    public static String[] toQuery(By locator) {
+        String text = locator.toString();
+        if (text.startsWith("By.id: ")) {
+            return new String[]{"id", text.substring("By.id: ".length())};
+        }
+        if (text.startsWith("By.cssSelector: ")) {
+            return new String[]{"css", text.substring("By.cssSelector: ".length())};
+        }
+        if (text.startsWith("By.xpath: ")) {
+            return new String[]{"xpath", text.substring("By.xpath: ".length())};
+        }
+        return null;
+    }
+
+    public static String[] requireQuery(By locator) {
+        String[] query = toQuery(locator);
+        if (query == null) {
+            throw new IllegalArgumentException("Locator not supported in scripts: " + locator);
+        }
+        return query;
+    }
+}
@@ -0,0 +1,81 @@
+package utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * LatencyHistogram - Thread-safe, fixed-bucket histogram of millisecond latencies
+ * Percentiles are reported as the upper bound of the bucket they fall in, which is precise
+ * enough for deriving timeouts and cheap enough to record on every wait
+ */
+public class LatencyHistogram {
+
+    private static final long[] BOUNDS_MILLIS = {5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000, 30000};
+
+    private final AtomicLongArray counts = new AtomicLongArray(BOUNDS_MILLIS.length + 1);
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(long millis) {
+        int bucket = 0;
+        while (bucket < BOUNDS_MILLIS.length && millis > BOUNDS_MILLIS[bucket]) {
+            bucket++;
+        }
+        counts.incrementAndGet(bucket);
+        total.incrementAndGet();
+        max.accumulateAndGet(millis, Math::max);
+    }
+
+    public long getCount() {
+        return total.get();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Latency below which the given fraction (0..1) of samples fall
+     */
+    public long percentile(double fraction) {
+        long count = total.get();
+        if (count == 0) {
+            return 0;
+        }
+        long needed = (long) Math.ceil(fraction * count);
+        long seen = 0;
+        for (int bucket = 0; bucket < counts.length(); bucket++) {
+            seen += counts.get(bucket);
+            if (seen >= needed) {
+                return bucket < BOUNDS_MILLIS.length ? Math.min(BOUNDS_MILLIS[bucket], max.get()) : max.get();
+            }
+        }
+        return max.get();
+    }
+
+    /**
+     * Bucket counts as "c0,c1,...,max" for saving between runs
+     */
+    public String serialize() {
+        StringBuilder text = new StringBuilder();
+        for (int bucket = 0; bucket < counts.length(); bucket++) {
+            text.append(counts.get(bucket)).append(',');
+        }
+        return text.append(max.get()).toString();
+    }
+
+    public static LatencyHistogram parse(String text) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        String[] parts = text.split(",");
+        if (parts.length != BOUNDS_MILLIS.length + 2) {
+            return histogram;
+        }
+        for (int bucket = 0; bucket <= BOUNDS_MILLIS.length; bucket++) {
+            long count = Long.parseLong(parts[bucket].trim());
+            histogram.counts.set(bucket, count);
+            histogram.total.addAndGet(count);
+        }
+        histogram.max.set(Long.parseLong(parts[parts.length - 1].trim()));
+        return histogram;
+    }
+}
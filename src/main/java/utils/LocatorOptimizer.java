@@ -0,0 +1,166 @@
+package utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * LocatorOptimizer - Swaps XPath locators for an equivalent id or CSS locator
+ * Only rewrites that hold for every state of the page are used: a simple attribute XPath translated to
+ * CSS, or an id for an XPath that selects by @id alone. A rewrite is only used after the browser
+ * confirmed it matches exactly the same nodes in the same order, and is then cached per locator for the JVM.
+ * Position or text() predicates are not replaced by positional/attribute CSS, since that would only be
+ * equivalent for the page state it was checked on. Disable with -Dlocator.optimize=false
+ */
+public class LocatorOptimizer {
+
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("locator.optimize", "true"));
+    private static final int MAX_EMPTY_ATTEMPTS = 3;
+
+    // //tag[@attr='value'][@attr2='value2'] -> tag[attr='value'][attr2='value2'], //*[@id='x'] -> #x
+    private static final Pattern SIMPLE_XPATH = Pattern.compile("^//([a-zA-Z][\\w-]*|\\*)((?:\\[@[\\w-]+='[^']*'\\])*)$");
+    private static final Pattern ID_SELECTOR = Pattern.compile("^\\*\\[id='([^']*)'\\]$");
+    private static final Pattern ATTRIBUTE_PREDICATE = Pattern.compile("\\[@([\\w-]+)='([^']*)'\\]");
+
+    private static final String REWRITE_SCRIPT =
+            JsLocator.FIND_ALL
+            + "var nodes = findAll('xpath', arguments[0]), candidates = arguments[1];"
+            + "if (nodes.length === 0) { return { matched: 0 }; }"
+            + "function same(found) {"
+            + "  if (found.length !== nodes.length) { return false; }"
+            + "  for (var i = 0; i < found.length; i++) { if (found[i] !== nodes[i]) { return false; } }"
+            + "  return true;"
+            + "}"
+            + "function css(selector) {"
+            + "  try { return same(Array.prototype.slice.call(document.querySelectorAll(selector))); } catch (e) { return false; }"
+            + "}"
+            + "for (var c = 0; c < candidates.length; c++) {"
+            + "  if (css(candidates[c])) { return { matched: nodes.length, type: 'css', value: candidates[c] }; }"
+            + "}"
+            + "return { matched: nodes.length };";
+
+    private static final Map<String, By> resolved = new ConcurrentHashMap<>();
+    private static final Map<String, AtomicInteger> emptyAttempts = new ConcurrentHashMap<>();
+    private static final AtomicInteger rewritten = new AtomicInteger();
+    private static final AtomicInteger kept = new AtomicInteger();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(LocatorOptimizer::printSummary, "locator-optimizer-summary"));
+    }
+
+    /**
+     * Fastest verified equivalent of the locator on the current page; id and CSS locators are returned as-is
+     */
+    public static By resolve(WebDriver driver, By locator) {
+        if (!ENABLED || !isXpath(locator)) {
+            return locator;
+        }
+        By cached = resolved.get(locator.toString());
+        if (cached != null) {
+            return cached;
+        }
+        RewriteResult result = rewrite(driver, locator);
+        if (result.matched == 0) {
+            // Halaman belum siap atau locator memang kosong - coba lagi beberapa kali, lalu tetap pakai XPath
+            int attempts = emptyAttempts.computeIfAbsent(locator.toString(), key -> new AtomicInteger()).incrementAndGet();
+            if (attempts < MAX_EMPTY_ATTEMPTS) {
+                return locator;
+            }
+        }
+        By best = result.rewrite != null ? result.rewrite : locator;
+        if (resolved.putIfAbsent(locator.toString(), best) == null) {
+            if (result.rewrite != null) {
+                rewritten.incrementAndGet();
+                System.out.println("🔎 Locator " + locator + " -> " + best);
+            } else {
+                kept.incrementAndGet();
+            }
+        }
+        return resolved.get(locator.toString());
+    }
+
+    /**
+     * Verify candidate rewrites of an XPath locator against the current page, without caching
+     */
+    @SuppressWarnings("unchecked")
+    public static RewriteResult rewrite(WebDriver driver, By locator) {
+        String[] query = JsLocator.requireQuery(locator);
+        if (!"xpath".equals(query[0])) {
+            throw new IllegalArgumentException("Only XPath locators can be rewritten: " + locator);
+        }
+        Map<String, Object> result;
+        try {
+            result = (Map<String, Object>) ((JavascriptExecutor) driver)
+                    .executeScript(REWRITE_SCRIPT, query[1], translate(query[1]));
+        } catch (WebDriverException e) {
+            return new RewriteResult(0, null);
+        }
+        int matched = ((Number) result.get("matched")).intValue();
+        String type = (String) result.get("type");
+        String value = (String) result.get("value");
+        By rewrite = type == null ? null : By.cssSelector(value);
+        Matcher id = ID_SELECTOR.matcher(value == null ? "" : value);
+        if (rewrite != null && id.matches()) {
+            rewrite = By.id(id.group(1));
+        }
+        return new RewriteResult(matched, rewrite);
+    }
+
+    /**
+     * CSS selectors that are equivalent to a simple XPath by construction (still verified before use)
+     */
+    public static List<String> translate(String xpath) {
+        List<String> candidates = new ArrayList<>();
+        Matcher matcher = SIMPLE_XPATH.matcher(xpath);
+        if (matcher.matches()) {
+            StringBuilder css = new StringBuilder(matcher.group(1));
+            Matcher predicate = ATTRIBUTE_PREDICATE.matcher(matcher.group(2));
+            while (predicate.find()) {
+                css.append('[').append(predicate.group(1)).append("='").append(predicate.group(2)).append("']");
+            }
+            candidates.add(css.toString());
+        }
+        return candidates;
+    }
+
+    public static void printSummary() {
+        if (rewritten.get() + kept.get() == 0) {
+            return;
+        }
+        System.out.println("🔎 XPath locators rewritten: " + rewritten.get() + " | kept as XPath: " + kept.get());
+    }
+
+    private static boolean isXpath(By locator) {
+        return locator.toString().startsWith("By.xpath: ");
+    }
+
+    /**
+     * Outcome of a rewrite attempt: how many nodes the XPath matched and the verified replacement, if any
+     */
+    public static class RewriteResult {
+        private final int matched;
+        private final By rewrite;
+
+        RewriteResult(int matched, By rewrite) {
+            this.matched = matched;
+            this.rewrite = rewrite;
+        }
+
+        public int getMatched() {
+            return matched;
+        }
+
+        public By getRewrite() {
+            return rewrite;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package utils;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * PageLocality - Groups tests that start on the same page so they run back to back and can
+ * pick up a pooled session that is already on that page
+ */
+public class PageLocality {
+
+    /**
+     * Full start URL of a test method from @StartsOn (method first, then class), or null
+     */
+    public static String startUrl(Class<?> testClass, Method method) {
+        StartsOn startsOn = method.getAnnotation(StartsOn.class);
+        if (startsOn == null) {
+            startsOn = testClass.getAnnotation(StartsOn.class);
+        }
+        return startsOn == null ? null : PageNavigator.url(startsOn.value());
+    }
+
+    /**
+     * Stable grouping: tests keep their relative order, but every test is pulled forward next
+     * to the first test with the same start page. Tests without a start page form one group
+     */
+    public static <T> List<T> groupByStartPage(List<T> ordered, Function<T, String> startUrl) {
+        Map<String, List<T>> groups = new LinkedHashMap<>();
+        for (T test : ordered) {
+            String url = startUrl.apply(test);
+            groups.computeIfAbsent(url == null ? "" : url, key -> new ArrayList<>()).add(test);
+        }
+        List<T> grouped = new ArrayList<>();
+        groups.values().forEach(grouped::addAll);
+        return grouped;
+    }
+}
@@ -0,0 +1,82 @@
+package utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * PageNavigator - Opens pages only when the session is not already on a clean copy of them
+ * After every load a marker is set in the page that any user interaction (click, typing,
+ * hover, form change) clears, so a page is only reused while it is exactly as loaded
+ */
+public class PageNavigator {
+
+    public static final String BASE_URL = "https://the-internet.herokuapp.com";
+
+    /**
+     * URL of the current page if it is untouched since it was loaded, otherwise null
+     */
+    static final String CLEAN_URL_SCRIPT = "return window.__pageClean === true ? location.href : null;";
+
+    private static final String MARK_CLEAN_SCRIPT =
+            "window.__pageClean = true;"
+            + "['click', 'input', 'change', 'keydown', 'submit', 'mouseover'].forEach(function (type) {"
+            + "  document.addEventListener(type, function () { window.__pageClean = false; }, true);"
+            + "});";
+
+    private static final AtomicInteger loads = new AtomicInteger();
+    private static final AtomicInteger avoided = new AtomicInteger();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(PageNavigator::printSummary, "page-navigator-summary"));
+    }
+
+    public static String url(String path) {
+        return path.startsWith("http") ? path : BASE_URL + path;
+    }
+
+    /**
+     * Make sure the session shows a fresh copy of the given page, loading it only if needed
+     */
+    public static void open(WebDriver driver, String url) {
+        if (url.equals(cleanUrl(driver))) {
+            avoided.incrementAndGet();
+            System.out.println("🧭 Already on " + url + " - page load skipped");
+            return;
+        }
+        driver.get(url);
+        loads.incrementAndGet();
+        ((JavascriptExecutor) driver).executeScript(MARK_CLEAN_SCRIPT);
+    }
+
+    /**
+     * URL of the session's page if it can be reused as-is, otherwise null
+     */
+    public static String cleanUrl(WebDriver driver) {
+        try {
+            return (String) ((JavascriptExecutor) driver).executeScript(CLEAN_URL_SCRIPT);
+        } catch (WebDriverException e) {
+            // Alert terbuka atau window sudah ditutup - anggap tidak bersih
+            return null;
+        }
+    }
+
+    public static int getLoadCount() {
+        return loads.get();
+    }
+
+    public static int getAvoidedCount() {
+        return avoided.get();
+    }
+
+    public static void printSummary() {
+        int total = loads.get() + avoided.get();
+        if (total == 0) {
+            return;
+        }
+        System.out.println("🧭 Page loads: " + loads.get() + " | avoided: " + avoided.get()
+                + " (" + avoided.get() * 100 / total + "%)");
+    }
+}
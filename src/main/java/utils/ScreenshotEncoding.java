@@ -0,0 +1,89 @@
+package utils;
+
+/**
+ * ScreenshotEncoding - How one artifact sink stores screenshots
+ * Read per sink from -Dscreenshot.<sink>.format=png|png8|jpeg, -Dscreenshot.<sink>.quality=0.8 (JPEG only)
+ * and -Dscreenshot.<sink>.maxWidth=0 (0 = keep the size); without a sink-specific value the plain
+ * -Dscreenshot.format/quality/maxWidth apply. The default (png, full size) keeps the original bytes
+ */
+public class ScreenshotEncoding {
+
+    public enum Format {
+        /** Original PNG from the browser */
+        PNG("png", "image/png"),
+        /** PNG with a 256-colour palette */
+        PNG8("png", "image/png"),
+        JPEG("jpg", "image/jpeg");
+
+        private final String extension;
+        private final String mimeType;
+
+        Format(String extension, String mimeType) {
+            this.extension = extension;
+            this.mimeType = mimeType;
+        }
+
+        public String getExtension() { return extension; }
+        public String getMimeType() { return mimeType; }
+    }
+
+    public static final ScreenshotEncoding ORIGINAL = new ScreenshotEncoding(Format.PNG, 1f, 0);
+
+    private final Format format;
+    private final float quality;
+    private final int maxWidth;
+
+    public ScreenshotEncoding(Format format, float quality, int maxWidth) {
+        if (quality <= 0 || quality > 1) {
+            throw new IllegalArgumentException("Screenshot quality must be in (0, 1], got " + quality);
+        }
+        this.format = format;
+        this.quality = quality;
+        this.maxWidth = Math.max(0, maxWidth);
+    }
+
+    /**
+     * Settings for a sink, e.g. forSink("disk") or forSink("allure")
+     */
+    public static ScreenshotEncoding forSink(String sink) {
+        String format = property(sink, "format", "png");
+        Format parsed;
+        try {
+            parsed = Format.valueOf(format.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown screenshot." + sink + ".format '" + format + "', use png, png8 or jpeg", e);
+        }
+        return new ScreenshotEncoding(parsed,
+                Float.parseFloat(property(sink, "quality", "0.8")),
+                Integer.parseInt(property(sink, "maxWidth", "0")));
+    }
+
+    /**
+     * True if the browser's PNG can be stored as is
+     */
+    public boolean isOriginal() {
+        return format == Format.PNG && maxWidth == 0;
+    }
+
+    public Format getFormat() { return format; }
+    public float getQuality() { return quality; }
+    public int getMaxWidth() { return maxWidth; }
+
+    /**
+     * Short file-name-safe id of these settings, e.g. jpeg-q80-w1280
+     */
+    public String getTag() {
+        return format.name().toLowerCase() + (format == Format.JPEG ? "-q" + Math.round(quality * 100) : "")
+                + (maxWidth > 0 ? "-w" + maxWidth : "");
+    }
+
+    @Override
+    public String toString() {
+        return format.name().toLowerCase() + (format == Format.JPEG ? " q" + quality : "")
+                + (maxWidth > 0 ? " max " + maxWidth + "px" : "");
+    }
+
+    private static String property(String sink, String key, String defaultValue) {
+        return System.getProperty("screenshot." + sink + "." + key, System.getProperty("screenshot." + key, defaultValue));
+    }
+}
@@ -0,0 +1,412 @@
+package utils;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.listener.FixtureLifecycleListener;
+import io.qameta.allure.listener.TestLifecycleListener;
+import io.qameta.allure.model.Attachment;
+import io.qameta.allure.model.FixtureResult;
+import io.qameta.allure.model.StepResult;
+import io.qameta.allure.model.TestResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * ScreenshotStore - Content-addressed screenshot files, one per distinct image
+ * A screenshot is stored as <sha256 of the PNG>[_<encoding>].<ext>; a capture identical to one already
+ * stored (e.g. the same error page after an outage) only becomes a reference to that file, on disk and
+ * as Allure attachment. The capture name -> file mapping is kept in screenshots/index.csv.
+ * Only byte-identical images are merged, so two screenshots that differ in one pixel stay two files
+ */
+public class ScreenshotStore {
+
+    public static final String INDEX_FILE = "index.csv";
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final Pattern BLOB_NAME = Pattern.compile("[0-9a-f]{64}(_[a-z0-9-]+)?\\.(png|jpg)");
+
+    private static final Namespace disk = new Namespace("disk");
+    private static final Namespace allure = new Namespace("Allure");
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(ScreenshotStore::printSummary, "screenshot-store-summary"));
+    }
+
+    /**
+     * One stored file and how often it was referenced
+     */
+    private static class Blob {
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private final AtomicInteger references = new AtomicInteger();
+        private final AtomicLong size = new AtomicLong();
+        /** Name the content was written under; the original <sha>.png if transcoding fell back */
+        private final CompletableFuture<String> stored = new CompletableFuture<>();
+    }
+
+    /**
+     * Blobs of one destination; the same image is stored once per destination
+     */
+    private static class Namespace {
+        private final String label;
+        private final Map<String, Blob> blobs = new ConcurrentHashMap<>();
+
+        Namespace(String label) {
+            this.label = label;
+        }
+
+        /**
+         * The blob for this file name with one more reference
+         */
+        Blob reference(String blobName) {
+            Blob blob = blobs.computeIfAbsent(blobName, name -> new Blob());
+            blob.references.incrementAndGet();
+            return blob;
+        }
+
+        int captures() {
+            return blobs.values().stream().mapToInt(blob -> blob.references.get()).sum();
+        }
+
+        /**
+         * Files actually referenced; a fallback PNG is written without references of its own
+         */
+        long files() {
+            return blobs.values().stream().filter(blob -> blob.references.get() > 0).count();
+        }
+
+        long bytesAvoided() {
+            return blobs.values().stream().mapToLong(blob -> Math.max(0, blob.references.get() - 1L) * blob.size.get()).sum();
+        }
+
+        void printSummary() {
+            int captures = captures();
+            if (captures == 0) {
+                return;
+            }
+            long files = files();
+            System.out.printf("🧬 Screenshot store (%s): %d captures -> %d files (dedup %.2fx) | %d KB not written%n",
+                    label, captures, files, (double) captures / files, bytesAvoided() / 1024);
+        }
+    }
+
+    /**
+     * Settles screenshot attachments before Allure writes a test or fixture, see awaitAttachments()
+     */
+    public static class AllureListener implements TestLifecycleListener, FixtureLifecycleListener {
+
+        @Override
+        public void beforeTestWrite(TestResult result) {
+            awaitAttachments(result.getAttachments());
+            result.getSteps().forEach(AllureListener::awaitSteps);
+        }
+
+        @Override
+        public void beforeFixtureStop(FixtureResult result) {
+            awaitAttachments(result.getAttachments());
+            result.getSteps().forEach(AllureListener::awaitSteps);
+        }
+
+        private static void awaitSteps(StepResult step) {
+            awaitAttachments(step.getAttachments());
+            step.getSteps().forEach(AllureListener::awaitSteps);
+        }
+    }
+
+    /**
+     * Disk sink: store the capture under its content hash (queued on the screenshot writer) and
+     * set the shared file as the capture's path. If transcoding fails the PNG is stored as <sha>.png
+     * instead and the path and index.csv point there
+     */
+    public static Path save(ArtifactPipeline.Capture capture, Path directory, ScreenshotEncoding encoding) {
+        ScreenshotEncoding effective = decodable(capture, encoding);
+        String blobName = blobName(capture, effective);
+        Path file = directory.resolve(blobName);
+        capture.setPath(file.toString());
+        Blob blob = disk.reference(blobName);
+        if (claim(blob, file)) {
+            if (effective.isOriginal()) {
+                writeOriginal(blob, capture, file);
+            } else {
+                ScreenshotTranscoder.submit(capture, effective, result -> {
+                    if (result.isTranscoded()) {
+                        blob.size.set(result.getData().length);
+                        ScreenshotWriter.submitFile(file, ScreenshotWriter.Source.of(result.getData()));
+                        blob.stored.complete(blobName);
+                    } else {
+                        // Nama file transcoded sudah dipakai, jadi PNG asli disimpan dengan nama aslinya
+                        String original = blobName(capture, ScreenshotEncoding.ORIGINAL);
+                        blob.size.set(result.getData().length);
+                        Path originalFile = directory.resolve(original);
+                        Blob originalBlob = disk.blobs.computeIfAbsent(original, name -> new Blob());
+                        if (claim(originalBlob, originalFile)) {
+                            writeOriginal(originalBlob, capture, originalFile);
+                        }
+                        blob.stored.complete(original);
+                    }
+                }).whenComplete((result, e) -> blob.stored.complete(blobName));
+            }
+            System.out.println("Screenshot queued: " + file);
+        } else {
+            System.out.println("Screenshot unchanged, referencing " + file);
+        }
+        blob.stored.thenAccept(storedAs -> {
+            if (!storedAs.equals(blobName)) {
+                capture.setPath(directory.resolve(storedAs).toString());
+            }
+            appendIndex(directory, capture.getName(), storedAs);
+        });
+        return Paths.get(capture.getPath());
+    }
+
+    /**
+     * Allure sink: attach the capture to the running test/step, writing the attachment file only
+     * for the first capture with this content. Source and type follow the file actually written;
+     * awaitAttachments() settles them before Allure writes the result
+     */
+    public static void attach(ArtifactPipeline.Capture capture, ScreenshotEncoding encoding) {
+        ScreenshotEncoding effective = decodable(capture, encoding);
+        String blobName = blobName(capture, effective);
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        Attachment attachment = new Attachment().setName(capture.getName())
+                .setType(effective.getFormat().getMimeType()).setSource(blobName);
+        if (!addAttachment(lifecycle, attachment)) {
+            return;
+        }
+        Blob blob = allure.reference(blobName);
+        blob.stored.thenAccept(storedAs -> repoint(attachment, storedAs));
+        if (!blob.claimed.compareAndSet(false, true)) {
+            return;
+        }
+        if (effective.isOriginal()) {
+            writeAttachment(lifecycle, blob, capture, blobName);
+        } else {
+            ScreenshotTranscoder.submit(capture, effective, result -> {
+                if (result.isTranscoded()) {
+                    blob.size.set(result.getData().length);
+                    lifecycle.writeAttachment(blobName, new ByteArrayInputStream(result.getData()));
+                    blob.stored.complete(blobName);
+                } else {
+                    String original = blobName(capture, ScreenshotEncoding.ORIGINAL);
+                    blob.size.set(result.getData().length);
+                    Blob originalBlob = allure.blobs.computeIfAbsent(original, name -> new Blob());
+                    if (originalBlob.claimed.compareAndSet(false, true)) {
+                        writeAttachment(lifecycle, originalBlob, capture, original);
+                    }
+                    blob.stored.complete(original);
+                }
+            }).whenComplete((result, e) -> blob.stored.complete(blobName));
+        }
+    }
+
+    /**
+     * Wait for screenshots of these attachments that are still being transcoded and point the
+     * attachments at the file actually written; called before Allure writes a result
+     */
+    public static void awaitAttachments(List<Attachment> attachments) {
+        for (Attachment attachment : attachments) {
+            Blob blob = attachment.getSource() == null ? null : allure.blobs.get(attachment.getSource());
+            if (blob != null && blob.claimed.get()) {
+                repoint(attachment, blob.stored.join());
+            }
+        }
+    }
+
+    /**
+     * Hex SHA-256 of the decoded image, hashed chunk by chunk through a pooled buffer
+     */
+    public static String sha256(CharSequence base64) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        ByteBuffer buffer = DirectBufferPool.acquire();
+        try {
+            StreamingBase64.decodeTo(base64, new WritableByteChannel() {
+                @Override
+                public int write(ByteBuffer source) {
+                    int count = source.remaining();
+                    digest.update(source);
+                    return count;
+                }
+
+                @Override
+                public boolean isOpen() {
+                    return true;
+                }
+
+                @Override
+                public void close() {
+                }
+            }, buffer);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Screenshot is not valid base64: " + e.getMessage(), e);
+        } finally {
+            DirectBufferPool.release(buffer);
+        }
+        byte[] hash = digest.digest();
+        char[] hex = new char[hash.length * 2];
+        for (int i = 0; i < hash.length; i++) {
+            hex[i * 2] = HEX[(hash[i] >> 4) & 0xF];
+            hex[i * 2 + 1] = HEX[hash[i] & 0xF];
+        }
+        return new String(hex);
+    }
+
+    /**
+     * Captures per stored file; 1.0 means every screenshot was different
+     */
+    public static double getDedupRatio() {
+        long files = disk.files();
+        return files == 0 ? 1.0 : (double) disk.captures() / files;
+    }
+
+    public static long getBytesAvoided() {
+        return disk.bytesAvoided() + allure.bytesAvoided();
+    }
+
+    public static void printSummary() {
+        disk.printSummary();
+        allure.printSummary();
+    }
+
+    /**
+     * Dedup summary of a screenshot folder from its index.csv, e.g. the merged folder of all shards
+     */
+    public static void printSummary(Path directory, String label) throws IOException {
+        Path index = directory.resolve(INDEX_FILE);
+        if (!Files.exists(index)) {
+            return;
+        }
+        Namespace namespace = new Namespace(label);
+        for (String line : Files.readAllLines(index, StandardCharsets.UTF_8)) {
+            // Nama capture bisa berisi koma, nama blob selalu kolom terakhir
+            String blobName = line.substring(line.lastIndexOf(',') + 1).trim();
+            if (blobName.isEmpty()) {
+                continue;
+            }
+            Blob blob = namespace.reference(blobName);
+            Path file = directory.resolve(blobName);
+            if (blob.size.get() == 0 && Files.exists(file)) {
+                blob.size.set(Files.size(file));
+            }
+        }
+        namespace.printSummary();
+    }
+
+    /**
+     * True for a file name written by the store (<sha256>[_<encoding>].<ext>); such a file never changes
+     * content, so a copy that already exists can be kept
+     */
+    public static boolean isBlobName(String fileName) {
+        return BLOB_NAME.matcher(fileName).matches();
+    }
+
+    /**
+     * The encoding to store with; an image ImageIO cannot read is kept as the original PNG
+     */
+    private static ScreenshotEncoding decodable(ArtifactPipeline.Capture capture, ScreenshotEncoding encoding) {
+        return encoding.isOriginal() || ScreenshotTranscoder.canDecode(capture) ? encoding : ScreenshotEncoding.ORIGINAL;
+    }
+
+    /**
+     * True if this caller should write the blob; false if it is claimed or already on disk from a previous run
+     */
+    private static boolean claim(Blob blob, Path file) {
+        if (!blob.claimed.compareAndSet(false, true)) {
+            return false;
+        }
+        if (Files.exists(file)) {
+            try {
+                blob.size.set(Files.size(file));
+                blob.stored.complete(file.getFileName().toString());
+                return false;
+            } catch (IOException e) {
+                // tulis ulang
+            }
+        }
+        return true;
+    }
+
+    private static void writeOriginal(Blob blob, ArtifactPipeline.Capture capture, Path file) {
+        blob.size.set(capture.getPngSize());
+        ScreenshotWriter.submitFile(file, ScreenshotWriter.Source.base64(capture.getBase64()));
+        blob.stored.complete(file.getFileName().toString());
+    }
+
+    private static void writeAttachment(AllureLifecycle lifecycle, Blob blob, ArtifactPipeline.Capture capture, String blobName) {
+        blob.size.set(capture.getPngSize());
+        try (InputStream png = capture.openPng()) {
+            lifecycle.writeAttachment(blobName, png);
+        } catch (IOException e) {
+            System.err.println("Failed to write Allure screenshot " + blobName + ": " + e.getMessage());
+        }
+        blob.stored.complete(blobName);
+    }
+
+    private static void repoint(Attachment attachment, String storedAs) {
+        if (!storedAs.equals(attachment.getSource())) {
+            attachment.setSource(storedAs).setType(ScreenshotEncoding.Format.PNG.getMimeType());
+        }
+    }
+
+    private static String blobName(ArtifactPipeline.Capture capture, ScreenshotEncoding encoding) {
+        // Transcoding deterministik, jadi hash PNG asli + setting encode sudah cukup sebagai alamat
+        return capture.getSha256() + (encoding.isOriginal() ? "" : "_" + encoding.getTag())
+                + "." + encoding.getFormat().getExtension();
+    }
+
+    /**
+     * Add the attachment to whatever is running on this thread: a step, the test itself or a fixture
+     */
+    private static boolean addAttachment(AllureLifecycle lifecycle, Attachment attachment) {
+        Optional<String> current = lifecycle.getCurrentTestCaseOrStep();
+        if (!current.isPresent()) {
+            return false;
+        }
+        String uuid = current.get();
+        if (current.equals(lifecycle.getCurrentTestCase())) {
+            lifecycle.updateTestCase(uuid, test -> test.getAttachments().add(attachment));
+            return true;
+        }
+        AtomicBoolean added = new AtomicBoolean();
+        lifecycle.updateStep(uuid, step -> added.set(step.getAttachments().add(attachment)));
+        if (!added.get()) {
+            lifecycle.updateFixture(uuid, fixture -> added.set(fixture.getAttachments().add(attachment)));
+        }
+        return added.get();
+    }
+
+    private static synchronized void appendIndex(Path directory, String name, String blobName) {
+        Path index = directory.resolve(INDEX_FILE);
+        try {
+            Files.createDirectories(directory);
+            String line = LocalDateTime.now() + "," + name + "," + blobName + System.lineSeparator();
+            Files.write(index, line.getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            System.err.println("Failed to update " + index + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,390 @@
+package utils;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.awt.image.IndexColorModel;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * ScreenshotTranscoder - Re-encodes screenshots (JPEG, palette PNG, downscaled) on a worker pool
+ * Test threads only queue the capture; decoding and encoding run on -Dscreenshot.transcodeThreads
+ * daemon threads (default half the cores). Every image reports its size before/after and encode time,
+ * and the run totals are printed at exit. If an image cannot be transcoded the original PNG is kept
+ */
+public class ScreenshotTranscoder {
+
+    private static final int THREADS = Integer.getInteger("screenshot.transcodeThreads",
+            Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+    private static final long FLUSH_TIMEOUT_SECONDS = 60;
+
+    private static final AtomicInteger threadNumber = new AtomicInteger();
+    private static final ExecutorService pool = Executors.newFixedThreadPool(THREADS, runnable -> {
+        Thread thread = new Thread(runnable, "screenshot-transcoder-" + threadNumber.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final Object idle = new Object();
+    private static final AtomicInteger pending = new AtomicInteger();
+
+    private static final AtomicInteger transcoded = new AtomicInteger();
+    private static final AtomicInteger failed = new AtomicInteger();
+    private static final AtomicLong originalBytes = new AtomicLong();
+    private static final AtomicLong encodedBytes = new AtomicLong();
+    private static final LatencyHistogram encodeLatency = new LatencyHistogram();
+
+    static {
+        // ImageIO default-nya buffer ke file temp; di memory jauh lebih cepat untuk gambar sebesar ini
+        ImageIO.setUseCache(false);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            flush();
+            printSummary();
+        }, "screenshot-transcoder-flush"));
+    }
+
+    /**
+     * One transcoded screenshot
+     */
+    public static class Result {
+        private final byte[] data;
+        private final ScreenshotEncoding.Format format;
+        private final boolean transcoded;
+        private final long originalBytes;
+        private final long encodeMillis;
+
+        Result(byte[] data, ScreenshotEncoding.Format format, boolean transcoded, long originalBytes, long encodeMillis) {
+            this.data = data;
+            this.format = format;
+            this.transcoded = transcoded;
+            this.originalBytes = originalBytes;
+            this.encodeMillis = encodeMillis;
+        }
+
+        public byte[] getData() { return data; }
+        /** Format of the data; PNG if transcoding failed */
+        public ScreenshotEncoding.Format getFormat() { return format; }
+        /** False if transcoding failed and the data is the original PNG */
+        public boolean isTranscoded() { return transcoded; }
+        public long getOriginalBytes() { return originalBytes; }
+        public long getBytesSaved() { return originalBytes - data.length; }
+        public long getEncodeMillis() { return encodeMillis; }
+    }
+
+    /**
+     * Queue the capture for transcoding. The optional action runs on the worker with the result
+     * and is covered by flush(), e.g. writing an Allure attachment
+     */
+    public static CompletableFuture<Result> submit(ArtifactPipeline.Capture capture, ScreenshotEncoding encoding,
+                                                   Consumer<Result> then) {
+        pending.incrementAndGet();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    Result result = transcode(capture, encoding);
+                    if (then != null) {
+                        then.accept(result);
+                    }
+                    return result;
+                } finally {
+                    finished();
+                }
+            }, pool);
+        } catch (RuntimeException e) {
+            finished();
+            throw e;
+        }
+    }
+
+    /**
+     * Wait until every queued image (and its action) is done, or the timeout passes
+     */
+    public static boolean flush() {
+        return flush(Duration.ofSeconds(FLUSH_TIMEOUT_SECONDS));
+    }
+
+    public static boolean flush(Duration timeout) {
+        long deadlineNanos = System.nanoTime() + timeout.toNanos();
+        synchronized (idle) {
+            while (pending.get() > 0) {
+                long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime());
+                if (remainingMillis <= 0) {
+                    System.err.println("Screenshot transcoder flush timed out, " + pending.get() + " image(s) not done");
+                    return false;
+                }
+                try {
+                    idle.wait(remainingMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    public static long getBytesSaved() {
+        return originalBytes.get() - encodedBytes.get();
+    }
+
+    /**
+     * Encode time per image, in ms
+     */
+    public static LatencyHistogram getEncodeLatency() {
+        return encodeLatency;
+    }
+
+    public static void printSummary() {
+        if (transcoded.get() + failed.get() == 0) {
+            return;
+        }
+        long before = originalBytes.get();
+        System.out.println("🗜️ Screenshot transcoding: " + transcoded.get() + " images, " + failed.get() + " kept as PNG | "
+                + before / 1024 + " KB -> " + encodedBytes.get() / 1024 + " KB ("
+                + (before == 0 ? 0 : getBytesSaved() * 100 / before) + "% saved) | encode p50 "
+                + encodeLatency.percentile(0.5) + " ms, p99 " + encodeLatency.percentile(0.99) + " ms");
+    }
+
+    /**
+     * Transcode on the calling thread
+     */
+    public static Result transcode(ArtifactPipeline.Capture capture, ScreenshotEncoding encoding) {
+        long startNanos = System.nanoTime();
+        try {
+            BufferedImage image;
+            try (InputStream png = capture.openPng()) {
+                image = ImageIO.read(png);
+            }
+            if (image == null) {
+                throw new IOException("not a readable PNG");
+            }
+            byte[] data = encode(image, encoding);
+            long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            Result result = new Result(data, encoding.getFormat(), true, capture.getPngSize(), millis);
+            record(result);
+            System.out.println("🗜️ " + capture.getName() + ": " + result.getOriginalBytes() / 1024 + " KB -> "
+                    + data.length / 1024 + " KB " + encoding + " in " + millis + " ms");
+            return result;
+        } catch (IOException | RuntimeException e) {
+            failed.incrementAndGet();
+            System.err.println("Failed to transcode screenshot " + capture.getName() + " (" + e.getMessage() + "), keeping the PNG");
+            byte[] png = readOriginal(capture);
+            return new Result(png, ScreenshotEncoding.Format.PNG, false, png.length,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        }
+    }
+
+    /**
+     * Cheap check on the calling thread that the capture is an image ImageIO can read (only the header
+     * is parsed), so callers can fall back to the original PNG before naming a transcoded file
+     */
+    public static boolean canDecode(ArtifactPipeline.Capture capture) {
+        try (ImageInputStream in = ImageIO.createImageInputStream(capture.openPng())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (readers.hasNext()) {
+                ImageReader reader = readers.next();
+                try {
+                    reader.setInput(in);
+                    if (reader.getWidth(0) > 0) {
+                        return true;
+                    }
+                } finally {
+                    reader.dispose();
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // jatuh ke bawah: tidak bisa dibaca
+        }
+        failed.incrementAndGet();
+        System.err.println("Screenshot " + capture.getName() + " is not a readable image, keeping the PNG");
+        return false;
+    }
+
+    private static byte[] encode(BufferedImage image, ScreenshotEncoding encoding) throws IOException {
+        BufferedImage scaled = downscale(image, encoding.getMaxWidth());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        switch (encoding.getFormat()) {
+            case JPEG:
+                writeJpeg(toRgb(scaled), encoding.getQuality(), out);
+                break;
+            case PNG8:
+                ImageIO.write(quantize(scaled), "png", out);
+                break;
+            default:
+                ImageIO.write(scaled, "png", out);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Halve the size until close to the target, then one last bilinear step; a single bilinear step
+     * from 4K would drop whole pixel rows of text
+     */
+    private static BufferedImage downscale(BufferedImage image, int maxWidth) {
+        if (maxWidth <= 0 || image.getWidth() <= maxWidth) {
+            return image;
+        }
+        int targetHeight = Math.max(1, (int) ((long) image.getHeight() * maxWidth / image.getWidth()));
+        BufferedImage current = image;
+        int width = image.getWidth();
+        int height = image.getHeight();
+        do {
+            width = Math.max(maxWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            BufferedImage next = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = next.createGraphics();
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(current, 0, 0, width, height, null);
+            graphics.dispose();
+            current = next;
+        } while (width > maxWidth);
+        return current;
+    }
+
+    private static BufferedImage toRgb(BufferedImage image) {
+        if (image.getType() == BufferedImage.TYPE_INT_RGB) {
+            return image;
+        }
+        // JPEG tidak punya alpha channel
+        BufferedImage rgb = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = rgb.createGraphics();
+        graphics.drawImage(image, 0, 0, null);
+        graphics.dispose();
+        return rgb;
+    }
+
+    private static void writeJpeg(BufferedImage image, float quality, ByteArrayOutputStream out) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(out)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            writer.setOutput(stream);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    /**
+     * 256-colour palette from the most frequent colours (5 bits per channel), every pixel mapped to its
+     * nearest palette entry. Pages are mostly flat colours, so this is close to lossless without dithering
+     */
+    private static BufferedImage quantize(BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int[] pixels = image.getRGB(0, 0, width, height, null, 0, width);
+
+        int[] counts = new int[1 << 15];
+        long[] sums = new long[3 << 15];
+        for (int pixel : pixels) {
+            int bin = bin(pixel);
+            counts[bin]++;
+            sums[bin * 3] += (pixel >> 16) & 0xFF;
+            sums[bin * 3 + 1] += (pixel >> 8) & 0xFF;
+            sums[bin * 3 + 2] += pixel & 0xFF;
+        }
+        // count << 15 | bin, jadi sort primitive langsung mengurutkan bin berdasarkan frekuensi
+        long[] used = new long[counts.length];
+        int usedCount = 0;
+        for (int bin = 0; bin < counts.length; bin++) {
+            if (counts[bin] > 0) {
+                used[usedCount++] = ((long) counts[bin] << 15) | bin;
+            }
+        }
+        Arrays.sort(used, 0, usedCount);
+
+        int size = 0;
+        byte[] reds = new byte[256];
+        byte[] greens = new byte[256];
+        byte[] blues = new byte[256];
+        while (size < 256 && size < usedCount) {
+            int bin = (int) (used[usedCount - 1 - size] & 0x7FFF);
+            // Rata-rata warna asli di bin ini, bukan titik tengah bin
+            reds[size] = (byte) (sums[bin * 3] / counts[bin]);
+            greens[size] = (byte) (sums[bin * 3 + 1] / counts[bin]);
+            blues[size] = (byte) (sums[bin * 3 + 2] / counts[bin]);
+            size++;
+        }
+
+        int[] lookup = new int[counts.length];
+        Arrays.fill(lookup, -1);
+        IndexColorModel palette = new IndexColorModel(8, size, reds, greens, blues);
+        BufferedImage indexed = new BufferedImage(width, height, BufferedImage.TYPE_BYTE_INDEXED, palette);
+        byte[] target = ((DataBufferByte) indexed.getRaster().getDataBuffer()).getData();
+        for (int i = 0; i < pixels.length; i++) {
+            int bin = bin(pixels[i]);
+            if (lookup[bin] < 0) {
+                lookup[bin] = nearest(pixels[i], reds, greens, blues, size);
+            }
+            target[i] = (byte) lookup[bin];
+        }
+        return indexed;
+    }
+
+    private static int bin(int pixel) {
+        return ((pixel >> 9) & 0x7C00) | ((pixel >> 6) & 0x03E0) | ((pixel >> 3) & 0x001F);
+    }
+
+    private static int nearest(int pixel, byte[] reds, byte[] greens, byte[] blues, int size) {
+        int red = (pixel >> 16) & 0xFF;
+        int green = (pixel >> 8) & 0xFF;
+        int blue = pixel & 0xFF;
+        int best = 0;
+        int bestDistance = Integer.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            int dr = red - (reds[i] & 0xFF);
+            int dg = green - (greens[i] & 0xFF);
+            int db = blue - (blues[i] & 0xFF);
+            int distance = dr * dr + dg * dg + db * db;
+            if (distance < bestDistance) {
+                best = i;
+                bestDistance = distance;
+            }
+        }
+        return best;
+    }
+
+    private static byte[] readOriginal(ArtifactPipeline.Capture capture) {
+        try (InputStream png = capture.openPng()) {
+            return png.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void record(Result result) {
+        transcoded.incrementAndGet();
+        originalBytes.addAndGet(result.getOriginalBytes());
+        encodedBytes.addAndGet(result.getData().length);
+        encodeLatency.record(result.getEncodeMillis());
+    }
+
+    private static void finished() {
+        if (pending.decrementAndGet() == 0) {
+            synchronized (idle) {
+                idle.notifyAll();
+            }
+        }
+    }
+}
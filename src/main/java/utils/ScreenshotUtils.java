@@ -1,50 +1,34 @@
 package utils;
 
-import org.apache.commons.io.FileUtils;
-import org.openqa.selenium.OutputType;
-import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
 
-import java.io.File;
-import java.io.IOException;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.nio.file.Paths;
 
 public class ScreenshotUtils {
-    
-    private static final String SCREENSHOT_DIR = "screenshots";
-    
+
+    private static final String SCREENSHOT_DIR = TestSharder.outputDir("screenshots").toString();
+    private static final ScreenshotEncoding DISK_ENCODING = ScreenshotEncoding.forSink("disk");
+
+    /**
+     * Screenshot through the artifact pipeline; returns the file it was saved to
+     */
     public static String takeScreenshot(WebDriver driver, String testName) {
-        try {
-            // Buat folder screenshots jika belum ada
-            File screenshotDir = new File(SCREENSHOT_DIR);
-            if (!screenshotDir.exists()) {
-                screenshotDir.mkdirs();
-            }
-            
-            // Generate filename dengan timestamp
-            String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss"));
-            String fileName = testName + "_" + timestamp + ".png";
-            String filePath = SCREENSHOT_DIR + File.separator + fileName;
-            
-            // Ambil screenshot
-            TakesScreenshot takesScreenshot = (TakesScreenshot) driver;
-            File sourceFile = takesScreenshot.getScreenshotAs(OutputType.FILE);
-            File destFile = new File(filePath);
-            
-            FileUtils.copyFile(sourceFile, destFile);
-            
-            System.out.println("Screenshot saved: " + filePath);
-            return filePath;
-            
-        } catch (IOException e) {
-            System.err.println("Failed to take screenshot: " + e.getMessage());
-            return null;
-        }
+        ArtifactPipeline.Capture capture = ArtifactPipeline.capture(driver, testName);
+        return capture == null ? null : capture.getPath();
     }
-    
+
     public static String takeScreenshotOnFailure(WebDriver driver, String testName) {
         System.out.println("Test failed - taking screenshot...");
-        return takeScreenshot(driver, testName + "_FAILED");
+        ArtifactPipeline.Capture capture = ArtifactPipeline.captureFailure(driver, testName + "_FAILED");
+        return capture == null ? null : capture.getPath();
+    }
+
+    /**
+     * Disk sink of the artifact pipeline: store the capture in the content-addressed screenshot store
+     * (see -Dscreenshot.disk.format) and return the file, also set as the capture's path; identical
+     * screenshots share one file
+     */
+    public static String save(ArtifactPipeline.Capture capture) {
+        return ScreenshotStore.save(capture, Paths.get(SCREENSHOT_DIR), DISK_ENCODING).toString();
     }
 }
@@ -0,0 +1,217 @@
+package utils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ScreenshotWriter - Writes screenshot files on a background thread
+ * The test thread only picks a unique file name and queues the content; the queue is bounded
+ * (-Dscreenshot.queueCapacity=32) and a full queue blocks the caller instead of piling up memory.
+ * Files are written through a FileChannel. The queue is flushed at suite end and on JVM exit
+ */
+public class ScreenshotWriter {
+
+    private static final int QUEUE_CAPACITY = Integer.getInteger("screenshot.queueCapacity", 32);
+    private static final long FLUSH_TIMEOUT_SECONDS = 30;
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss-SSS");
+
+    private static final BlockingQueue<Job> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private static final Object idle = new Object();
+    private static final AtomicInteger pending = new AtomicInteger();
+    private static final AtomicLong sequence = new AtomicLong();
+
+    private static final AtomicInteger written = new AtomicInteger();
+    private static final AtomicInteger failed = new AtomicInteger();
+    private static final AtomicInteger maxQueueDepth = new AtomicInteger();
+    private static final AtomicLong blockedNanos = new AtomicLong();
+    private static final LatencyHistogram writeLatency = new LatencyHistogram();
+
+    /**
+     * Content of a queued file, written on the writer thread through its (direct) buffer
+     */
+    public interface Source {
+        void writeTo(FileChannel channel, ByteBuffer buffer) throws IOException;
+
+        static Source of(byte[] data) {
+            return (channel, buffer) -> writeFully(channel, data);
+        }
+
+        /**
+         * Base64 content (e.g. a WebDriver screenshot) decoded straight into the file
+         */
+        static Source base64(CharSequence base64) {
+            return (channel, buffer) -> StreamingBase64.decodeTo(base64, channel, buffer);
+        }
+
+    }
+
+    private static class Job {
+        private final Path file;
+        private final Source source;
+        private final long queuedNanos = System.nanoTime();
+
+        Job(Path file, Source source) {
+            this.file = file;
+            this.source = source;
+        }
+    }
+
+    static {
+        Thread writer = new Thread(ScreenshotWriter::run, "screenshot-writer");
+        writer.setDaemon(true);
+        writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            flush();
+            printSummary();
+        }, "screenshot-writer-flush"));
+    }
+
+    public static Path submit(Path directory, String name, byte[] data, String extension) {
+        return submit(directory, name, extension, Source.of(data));
+    }
+
+    /**
+     * Queue the content for writing and return the file it will be written to.
+     * Blocks while the queue is full
+     */
+    public static Path submit(Path directory, String name, String extension, Source source) {
+        // Millisecond timestamp + urutan global, jadi nama tetap unik walau banyak thread capture bersamaan
+        String fileName = name + "_" + LocalDateTime.now().format(TIMESTAMP) + "_" + sequence.incrementAndGet() + "." + extension;
+        Path file = directory.resolve(fileName);
+        submitFile(file, source);
+        return file;
+    }
+
+    /**
+     * Queue the content for a file whose name the caller picked; the file must not exist yet
+     */
+    public static void submitFile(Path file, Source source) {
+        pending.incrementAndGet();
+        Job job = new Job(file, source);
+        if (!queue.offer(job)) {
+            long startNanos = System.nanoTime();
+            try {
+                queue.put(job);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                finished();
+                throw new IllegalStateException("Interrupted while queueing screenshot " + file, e);
+            } finally {
+                blockedNanos.addAndGet(System.nanoTime() - startNanos);
+            }
+        }
+        maxQueueDepth.accumulateAndGet(queue.size(), Math::max);
+    }
+
+    /**
+     * Wait until every queued file is on disk (or the timeout passes); true if everything was written
+     */
+    public static boolean flush() {
+        return flush(Duration.ofSeconds(FLUSH_TIMEOUT_SECONDS));
+    }
+
+    public static boolean flush(Duration timeout) {
+        long deadlineNanos = System.nanoTime() + timeout.toNanos();
+        synchronized (idle) {
+            while (pending.get() > 0) {
+                long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime());
+                if (remainingMillis <= 0) {
+                    System.err.println("Screenshot writer flush timed out, " + pending.get() + " file(s) not written");
+                    return false;
+                }
+                try {
+                    idle.wait(remainingMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    public static int getQueueDepth() {
+        return queue.size();
+    }
+
+    public static int getMaxQueueDepth() {
+        return maxQueueDepth.get();
+    }
+
+    /**
+     * Time from queueing to the file being closed, in ms
+     */
+    public static LatencyHistogram getWriteLatency() {
+        return writeLatency;
+    }
+
+    public static long getBlockedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(blockedNanos.get());
+    }
+
+    public static void printSummary() {
+        if (written.get() + failed.get() == 0) {
+            return;
+        }
+        System.out.println("💾 Screenshot writer: " + written.get() + " written, " + failed.get() + " failed | latency p50 "
+                + writeLatency.percentile(0.5) + " ms, p99 " + writeLatency.percentile(0.99) + " ms | max queue "
+                + maxQueueDepth.get() + "/" + QUEUE_CAPACITY + " | test threads blocked " + getBlockedMillis() + " ms");
+    }
+
+    private static void run() {
+        ByteBuffer buffer = DirectBufferPool.acquire();
+        while (true) {
+            Job job;
+            try {
+                job = queue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            try {
+                write(job, buffer);
+                written.incrementAndGet();
+            } catch (IOException e) {
+                failed.incrementAndGet();
+                System.err.println("Failed to write screenshot " + job.file + ": " + e.getMessage());
+            } finally {
+                writeLatency.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - job.queuedNanos));
+                finished();
+            }
+        }
+    }
+
+    private static void write(Job job, ByteBuffer buffer) throws IOException {
+        Files.createDirectories(job.file.toAbsolutePath().getParent());
+        try (FileChannel channel = FileChannel.open(job.file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            buffer.clear();
+            job.source.writeTo(channel, buffer);
+        }
+    }
+
+    private static void writeFully(FileChannel channel, byte[] data) throws IOException {
+        ByteBuffer wrapped = ByteBuffer.wrap(data);
+        while (wrapped.hasRemaining()) {
+            channel.write(wrapped);
+        }
+    }
+
+    private static void finished() {
+        if (pending.decrementAndGet() == 0) {
+            synchronized (idle) {
+                idle.notifyAll();
+            }
+        }
+    }
+}
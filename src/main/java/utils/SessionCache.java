@@ -0,0 +1,158 @@
+package utils;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * SessionCache - Logged-in cookies per credential set, so only one test per run has to use the login form
+ * After a UI login the cookies are stored; later sessions get them injected (through CDP, before any
+ * page is loaded) and open the secure area directly. An entry is dropped and the caller logs in
+ * again when it is older than -Dsession.cache.ttlSeconds=900, when one of its cookies has expired,
+ * or when the server sends the restored session back to the login page
+ */
+public class SessionCache {
+
+    public static final String SECURE_PATH = "/secure";
+
+    private static final long TTL_MILLIS = Long.getLong("session.cache.ttlSeconds", 900) * 1000;
+    private static final long EXPIRY_MARGIN_MILLIS = 30_000;
+
+    private static final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private static final AtomicInteger restored = new AtomicInteger();
+    private static final AtomicInteger stored = new AtomicInteger();
+    private static final AtomicInteger expired = new AtomicInteger();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(SessionCache::printSummary, "session-cache-summary"));
+    }
+
+    private static class Entry {
+        private final Set<Cookie> cookies;
+        private final long capturedMillis;
+
+        Entry(Set<Cookie> cookies, long capturedMillis) {
+            this.cookies = cookies;
+            this.capturedMillis = capturedMillis;
+        }
+
+        boolean isExpired(long nowMillis) {
+            if (nowMillis - capturedMillis > TTL_MILLIS) {
+                return true;
+            }
+            for (Cookie cookie : cookies) {
+                Date expiry = cookie.getExpiry();
+                if (expiry != null && expiry.getTime() - EXPIRY_MARGIN_MILLIS < nowMillis) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Inject the cached session for these credentials and open the secure area.
+     * False if there is no usable entry; the caller should log in through the UI and call store()
+     */
+    public static boolean restore(WebDriver driver, String username, String password) {
+        String key = key(username, password);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return false;
+        }
+        if (entry.isExpired(System.currentTimeMillis())) {
+            drop(key, entry, "cookies expired");
+            return false;
+        }
+
+        injectCookies(driver, entry.cookies);
+        driver.get(PageNavigator.url(SECURE_PATH));
+        if (!driver.getCurrentUrl().contains(SECURE_PATH)) {
+            // Server menolak session (mis. sudah di-invalidate) dan redirect ke /login
+            drop(key, entry, "rejected by the server");
+            return false;
+        }
+        restored.incrementAndGet();
+        System.out.println("🔐 Restored cached session for " + username);
+        return true;
+    }
+
+    /**
+     * Remember the cookies of a session that has just logged in with these credentials
+     */
+    public static void store(WebDriver driver, String username, String password) {
+        Set<Cookie> cookies = driver.manage().getCookies();
+        if (cookies.isEmpty()) {
+            return;
+        }
+        entries.put(key(username, password), new Entry(cookies, System.currentTimeMillis()));
+        stored.incrementAndGet();
+    }
+
+    /**
+     * Forget every cached session, e.g. after a test changed the password
+     */
+    public static void clear() {
+        entries.clear();
+    }
+
+    public static int getRestoredCount() {
+        return restored.get();
+    }
+
+    public static void printSummary() {
+        if (restored.get() + stored.get() == 0) {
+            return;
+        }
+        System.out.println("🔐 Session cache: " + restored.get() + " logins skipped | " + stored.get()
+                + " UI logins | " + expired.get() + " expired");
+    }
+
+    private static void injectCookies(WebDriver driver, Set<Cookie> cookies) {
+        if (!(driver instanceof HasCdp)) {
+            // Tanpa CDP cookie hanya bisa diset kalau browser sudah di domain yang sama
+            driver.get(PageNavigator.BASE_URL);
+            cookies.forEach(driver.manage()::addCookie);
+            return;
+        }
+        for (Cookie cookie : cookies) {
+            Map<String, Object> params = new HashMap<>();
+            params.put("name", cookie.getName());
+            params.put("value", cookie.getValue());
+            if (cookie.getDomain() != null && cookie.getDomain().startsWith(".")) {
+                params.put("domain", cookie.getDomain());
+            } else {
+                // Host-only cookie tetap host-only
+                params.put("url", PageNavigator.BASE_URL);
+            }
+            params.put("path", cookie.getPath() == null ? "/" : cookie.getPath());
+            params.put("secure", cookie.isSecure());
+            params.put("httpOnly", cookie.isHttpOnly());
+            if (cookie.getSameSite() != null) {
+                params.put("sameSite", cookie.getSameSite());
+            }
+            if (cookie.getExpiry() != null) {
+                params.put("expires", cookie.getExpiry().getTime() / 1000.0);
+            }
+            ((HasCdp) driver).executeCdpCommand("Network.setCookie", params);
+        }
+    }
+
+    private static void drop(String key, Entry entry, String reason) {
+        if (entries.remove(key, entry)) {
+            expired.incrementAndGet();
+            System.out.println("🔐 Cached session dropped (" + reason + "), logging in again");
+        }
+    }
+
+    private static String key(String username, String password) {
+        return username + '\u0000' + password;
+    }
+}
@@ -0,0 +1,119 @@
+package utils;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ShardResultMerger - Combines the output of all shards into one run
+ * Allure results go to target/allure-results, screenshots to screenshots/, bug reports are
+ * re-generated from every shard's bugs.json and shard durations are folded into the history.
+ * Content-addressed screenshots (see ScreenshotStore) that several shards took are kept once and
+ * the shards' index.csv files are appended into one.
+ * Usage: ShardResultMerger [shardsDir] (default target/shards, one shard-N folder per shard)
+ */
+public class ShardResultMerger {
+
+    public static void main(String[] args) throws IOException {
+        Path shardsRoot = Paths.get(args.length > 0 ? args[0] : "target/shards");
+        Path allureResults = Paths.get(System.getProperty("allure.results.directory", "target/allure-results"));
+        Path screenshots = Paths.get("screenshots");
+
+        System.out.println("🧩 Merging shard results from " + shardsRoot);
+        List<Path> shardDirs = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(shardsRoot, "shard-*")) {
+            stream.forEach(shardDirs::add);
+        }
+        shardDirs.sort(null);
+        if (shardDirs.isEmpty()) {
+            System.out.println("⚠️ No shard-* folders found in " + shardsRoot);
+            return;
+        }
+
+        BugReporter.clearBugReports();
+        Files.deleteIfExists(screenshots.resolve(ScreenshotStore.INDEX_FILE));
+        int allureFiles = 0;
+        int screenshotFiles = 0;
+        for (Path shardDir : shardDirs) {
+            String shardName = shardDir.getFileName().toString();
+            allureFiles += copyAll(shardDir.resolve("allure-results"), allureResults, shardName).size();
+
+            Map<String, String> movedScreenshots = copyAll(shardDir.resolve("screenshots"), screenshots, shardName);
+            screenshotFiles += movedScreenshots.size();
+
+            Path bugData = shardDir.resolve("bug-reports").resolve(BugReporter.BUG_DATA_FILE);
+            if (Files.exists(bugData)) {
+                for (BugReporter.BugReport bug : BugReporter.loadBugReports(bugData)) {
+                    // Path screenshot diarahkan ke lokasi hasil merge
+                    if (bug.getScreenshotPath() != null) {
+                        String fileName = Paths.get(bug.getScreenshotPath()).getFileName().toString();
+                        if (movedScreenshots.containsKey(fileName)) {
+                            bug.setScreenshotPath(movedScreenshots.get(fileName));
+                        }
+                    }
+                }
+            }
+
+            Map<String, Long> durations = TestDurationHistory.read(shardDir.resolve("durations.properties"));
+            durations.forEach(TestDurationHistory::record);
+            System.out.println("   " + shardName + ": " + durations.size() + " test durations");
+        }
+
+        BugReporter.generateBugReport();
+        TestDurationHistory.save();
+
+        System.out.println("✅ Merged " + shardDirs.size() + " shards: " + allureFiles + " Allure files, "
+                + screenshotFiles + " screenshots, " + BugReporter.getBugCount() + " bugs");
+        ScreenshotStore.printSummary(screenshots, "merged shards");
+    }
+
+    /**
+     * Copy every file of a shard folder into the merged folder. A screenshot store index is appended,
+     * a content-addressed file that already exists is the same image and is not copied again, other
+     * name clashes get the shard name as prefix. Returns original file name -> merged path
+     */
+    private static Map<String, String> copyAll(Path source, Path target, String shardName) throws IOException {
+        Map<String, String> copied = new HashMap<>();
+        if (!Files.isDirectory(source)) {
+            return copied;
+        }
+        Files.createDirectories(target);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(source)) {
+            for (Path file : files) {
+                if (!Files.isRegularFile(file)) {
+                    continue;
+                }
+                String fileName = file.getFileName().toString();
+                Path destination = target.resolve(fileName);
+                if (fileName.equals(ScreenshotStore.INDEX_FILE)) {
+                    Files.write(destination, Files.readAllBytes(file), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                    continue;
+                }
+                if (Files.exists(destination) && ScreenshotStore.isBlobName(fileName)) {
+                    copied.put(fileName, destination.toString());
+                    continue;
+                }
+                if (Files.exists(destination) && !sameContent(file, destination)) {
+                    destination = target.resolve(shardName + "_" + fileName);
+                }
+                Files.copy(file, destination, StandardCopyOption.REPLACE_EXISTING);
+                copied.put(fileName, destination.toString());
+            }
+        }
+        return copied;
+    }
+
+    private static boolean sameContent(Path first, Path second) throws IOException {
+        return Files.size(first) == Files.size(second)
+                && Arrays.equals(Files.readAllBytes(first), Files.readAllBytes(second));
+    }
+}
@@ -0,0 +1,19 @@
+package utils;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Page a test starts on, e.g. @StartsOn("/login"). The base classes open it before the test
+ * (skipped when the session is already there) and the schedulers group tests by it.
+ * On a class it applies to every test method without its own annotation
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Inherited
+public @interface StartsOn {
+    String value();
+}
@@ -0,0 +1,135 @@
+package utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * StreamingBase64 - Decodes base64 text (as returned by WebDriver screenshots) without building the
+ * decoded image as one byte[]. decodeTo fills a caller-supplied (ideally pooled, direct) buffer a chunk
+ * at a time and drains it into a channel, so heap use stays at the base64 string WebDriver already returned
+ */
+public class StreamingBase64 {
+
+    private static final int[] VALUES = new int[128];
+
+    static {
+        Arrays.fill(VALUES, -1);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/";
+        for (int i = 0; i < alphabet.length(); i++) {
+            VALUES[alphabet.charAt(i)] = i;
+        }
+    }
+
+    /**
+     * Decode into the channel through the buffer; returns the number of bytes written
+     */
+    public static long decodeTo(CharSequence base64, WritableByteChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.clear();
+        long written = 0;
+        int length = base64.length();
+        int i = 0;
+        // Jalur cepat: 4 karakter -> 3 byte sekaligus; line break, padding dan sisa ditangani loop per karakter
+        while (i + 4 <= length) {
+            int quad = quad(base64, i);
+            if (quad < 0) {
+                break;
+            }
+            if (buffer.remaining() < 3) {
+                written += drain(buffer, channel);
+            }
+            buffer.put((byte) (quad >> 16)).put((byte) (quad >> 8)).put((byte) quad);
+            i += 4;
+        }
+        int bits = 0;
+        int bitCount = 0;
+        for (; i < length; i++) {
+            char c = base64.charAt(i);
+            if (c == '=') {
+                break;
+            }
+            if (c == '\r' || c == '\n' || c == ' ') {
+                continue;
+            }
+            int value = c < 128 ? VALUES[c] : -1;
+            if (value < 0) {
+                throw new IOException("Illegal base64 character '" + c + "' at " + i);
+            }
+            bits = (bits << 6) | value;
+            bitCount += 6;
+            if (bitCount >= 8) {
+                bitCount -= 8;
+                if (!buffer.hasRemaining()) {
+                    written += drain(buffer, channel);
+                }
+                buffer.put((byte) (bits >> bitCount));
+                bits &= (1 << bitCount) - 1;
+            }
+        }
+        return written + drain(buffer, channel);
+    }
+
+    /**
+     * Decoding stream over the text, for consumers that want an InputStream (e.g. Allure attachments)
+     */
+    public static InputStream openStream(CharSequence base64) {
+        return Base64.getMimeDecoder().wrap(new InputStream() {
+            private int position;
+
+            @Override
+            public int read() {
+                return position < base64.length() ? base64.charAt(position++) : -1;
+            }
+
+            @Override
+            public int read(byte[] target, int offset, int length) {
+                if (position >= base64.length()) {
+                    return -1;
+                }
+                int count = Math.min(length, base64.length() - position);
+                for (int i = 0; i < count; i++) {
+                    target[offset + i] = (byte) base64.charAt(position++);
+                }
+                return count;
+            }
+        });
+    }
+
+    /**
+     * Size of the decoded data, without decoding it
+     */
+    public static long decodedLength(CharSequence base64) {
+        int length = base64.length();
+        int padding = 0;
+        while (padding < 2 && length - padding > 0 && base64.charAt(length - padding - 1) == '=') {
+            padding++;
+        }
+        return (long) length * 3 / 4 - padding;
+    }
+
+    private static int quad(CharSequence base64, int offset) {
+        int quad = 0;
+        for (int i = offset; i < offset + 4; i++) {
+            char c = base64.charAt(i);
+            int value = c < 128 ? VALUES[c] : -1;
+            if (value < 0) {
+                return -1;
+            }
+            quad = (quad << 6) | value;
+        }
+        return quad;
+    }
+
+    private static long drain(ByteBuffer buffer, WritableByteChannel channel) throws IOException {
+        buffer.flip();
+        long count = buffer.remaining();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+        return count;
+    }
+}
@@ -0,0 +1,111 @@
+package utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SyntheticDialogs - window.alert/confirm/prompt overrides with scripted answers (DialogMode.SYNTHETIC)
+ * The answer is queued and the triggering button clicked in the same script call, so a dialog costs one
+ * round trip and the browser never blocks on a native dialog. Every call is recorded in the page.
+ * Installing marks the page as used, so a pooled session never hands the patched page to a native test
+ */
+public class SyntheticDialogs {
+
+    private static final String INSTALL =
+            "if (!window.__syntheticDialogs) {"
+            + "  var state = window.__syntheticDialogs = { calls: [], answers: [] };"
+            + "  window.__pageClean = false;"
+            + "  var answer = function (type, message, defaultValue) {"
+            + "    var next = state.answers.length ? state.answers.shift() : { accept: true, text: null };"
+            + "    var value = null;"
+            + "    if (type === 'confirm') { value = next.accept; }"
+            + "    if (type === 'prompt' && next.accept) {"
+            + "      value = next.text !== null ? next.text : (defaultValue === undefined ? '' : String(defaultValue));"
+            + "    }"
+            + "    state.calls.push({ type: type, message: message === undefined ? '' : String(message),"
+            + "                       accepted: next.accept, value: typeof value === 'string' ? value : null });"
+            + "    return value;"
+            + "  };"
+            + "  window.alert = function (message) { answer('alert', message); };"
+            + "  window.confirm = function (message) { return answer('confirm', message); };"
+            + "  window.prompt = function (message, defaultValue) { return answer('prompt', message, defaultValue); };"
+            + "}";
+
+    // null selama tombol belum ada, supaya WaitEngine bisa polling
+    private static final String TRIGGER_SCRIPT = JsLocator.FIND_ALL
+            + "var button = findAll(arguments[0], arguments[1])[0];"
+            + "if (!button) { return null; }"
+            + INSTALL
+            + "var state = window.__syntheticDialogs, before = state.calls.length;"
+            + "state.answers.push({ accept: arguments[2], text: arguments[3] });"
+            + "button.click();"
+            + "if (state.calls.length === before) { state.answers.pop(); return { opened: false }; }"
+            + "return { opened: true, dialog: state.calls[state.calls.length - 1] };";
+
+    private static final String CALLS_SCRIPT = "return window.__syntheticDialogs ? window.__syntheticDialogs.calls : [];";
+
+    /**
+     * One answered dialog: alert, confirm or prompt, its message and how it was answered
+     */
+    public static class Dialog {
+        private final String type;
+        private final String message;
+        private final boolean accepted;
+        private final String value;
+
+        public Dialog(String type, String message, boolean accepted, String value) {
+            this.type = type;
+            this.message = message;
+            this.accepted = accepted;
+            this.value = value;
+        }
+
+        public String getType() { return type; }
+        public String getMessage() { return message; }
+        public boolean isAccepted() { return accepted; }
+        /** Text a prompt returned to the page; null for alerts, confirms and dismissed prompts */
+        public String getValue() { return value; }
+
+        @Override
+        public String toString() {
+            return type + "('" + message + "') -> " + (accepted ? "accepted" : "dismissed") + (value == null ? "" : " '" + value + "'");
+        }
+    }
+
+    /**
+     * Queue the answer, click the button and return the dialog it opened, all in one script call.
+     * For prompts a null text accepts with the prompt's default value
+     */
+    @SuppressWarnings("unchecked")
+    public static Dialog answer(WaitEngine wait, By button, boolean accept, String text) {
+        String[] query = JsLocator.requireQuery(button);
+        Map<String, Object> result = wait.until(button.toString(), driver -> (Map<String, Object>) ((JavascriptExecutor) driver)
+                .executeScript(TRIGGER_SCRIPT, query[0], query[1], accept, text));
+        if (!Boolean.TRUE.equals(result.get("opened"))) {
+            throw new IllegalStateException("Clicking " + button + " did not open a dialog");
+        }
+        return toDialog((Map<String, Object>) result.get("dialog"));
+    }
+
+    /**
+     * Every dialog the current page has opened since the overrides were installed
+     */
+    @SuppressWarnings("unchecked")
+    public static List<Dialog> getCalls(WebDriver driver) {
+        List<Dialog> dialogs = new ArrayList<>();
+        for (Object call : (List<Object>) ((JavascriptExecutor) driver).executeScript(CALLS_SCRIPT)) {
+            dialogs.add(toDialog((Map<String, Object>) call));
+        }
+        return dialogs;
+    }
+
+    private static Dialog toDialog(Map<String, Object> call) {
+        return new Dialog((String) call.get("type"), (String) call.get("message"),
+                Boolean.TRUE.equals(call.get("accepted")), (String) call.get("value"));
+    }
+}
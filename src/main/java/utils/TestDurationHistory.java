@@ -0,0 +1,126 @@
+package utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * TestDurationHistory - Per-test durations remembered across runs
+ * Keys are "ClassName.methodName"; values are a moving average in milliseconds so
+ * one slow run does not reshuffle the whole schedule. Saved when the JVM exits
+ */
+public class TestDurationHistory {
+
+    private static final Path HISTORY_FILE = Paths.get(System.getProperty("test.history.file",
+            "test-history/durations.properties"));
+    private static final long DEFAULT_ESTIMATE_MILLIS = 5000;
+    private static final double SMOOTHING = 0.5;
+
+    private static final Map<String, Long> previous = read(HISTORY_FILE);
+    private static final Map<String, Long> current = new ConcurrentHashMap<>();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(TestDurationHistory::save, "test-history-save"));
+    }
+
+    public static String testId(Class<?> testClass, String methodName) {
+        return testClass.getSimpleName() + "." + methodName;
+    }
+
+    /**
+     * Record the duration of a test in this run
+     */
+    public static void record(String testId, long millis) {
+        current.put(testId, millis);
+    }
+
+    /**
+     * Expected duration of a test; unknown tests get the average of the known ones
+     */
+    public static long estimate(String testId) {
+        Long known = previous.get(testId);
+        if (known != null) {
+            return known;
+        }
+        return previous.isEmpty()
+                ? DEFAULT_ESTIMATE_MILLIS
+                : (long) previous.values().stream().mapToLong(Long::longValue).average().orElse(DEFAULT_ESTIMATE_MILLIS);
+    }
+
+    public static boolean hasHistory(String testId) {
+        return previous.containsKey(testId);
+    }
+
+    /**
+     * Durations recorded in this run so far
+     */
+    public static Map<String, Long> getCurrentRun() {
+        return new TreeMap<>(current);
+    }
+
+    public static synchronized void save() {
+        if (current.isEmpty()) {
+            return;
+        }
+        if (TestSharder.isEnabled()) {
+            // Shard hanya menulis durasi run ini; ShardResultMerger yang menggabungkan ke history utama
+            write(TestSharder.outputDir("durations.properties"), current, "Test durations in ms from this shard");
+            return;
+        }
+        Map<String, Long> merged = new TreeMap<>(previous);
+        for (Map.Entry<String, Long> entry : current.entrySet()) {
+            Long old = previous.get(entry.getKey());
+            long value = old == null
+                    ? entry.getValue()
+                    : Math.round(SMOOTHING * entry.getValue() + (1 - SMOOTHING) * old);
+            merged.put(entry.getKey(), value);
+        }
+        write(HISTORY_FILE, merged, "Test durations in ms (moving average), used for scheduling");
+    }
+
+    /**
+     * Read a durations file (history or a shard's run) as id -> millis
+     */
+    public static Map<String, Long> read(Path file) {
+        Map<String, Long> durations = new ConcurrentHashMap<>();
+        if (!Files.exists(file)) {
+            return durations;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            properties.load(in);
+            for (String key : properties.stringPropertyNames()) {
+                durations.put(key, Long.parseLong(properties.getProperty(key).trim()));
+            }
+        } catch (IOException | NumberFormatException e) {
+            System.err.println("Failed to read test duration history: " + e.getMessage());
+        }
+        return durations;
+    }
+
+    private static void write(Path file, Map<String, Long> durations, String comment) {
+        Properties properties = new Properties();
+        for (Map.Entry<String, Long> entry : durations.entrySet()) {
+            properties.setProperty(entry.getKey(), String.valueOf(entry.getValue()));
+        }
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path tempFile = Files.createTempFile(parent, "durations", ".tmp");
+            try (OutputStream out = Files.newOutputStream(tempFile)) {
+                properties.store(out, comment);
+            }
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Failed to save test duration history: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package utils;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * TestSharder - Splits a suite into N shards weighted by recorded runtime
+ * Every shard computes the same assignment from the same inputs (test ids + duration history),
+ * so forks and CI nodes agree on who runs what without talking to each other.
+ * Configure with -Dshard.index=0..N-1 and -Dshard.total=N
+ */
+public class TestSharder {
+
+    public static int getShardIndex() {
+        return Integer.getInteger("shard.index", 0);
+    }
+
+    public static int getShardTotal() {
+        return Integer.getInteger("shard.total", 1);
+    }
+
+    public static boolean isEnabled() {
+        return getShardTotal() > 1;
+    }
+
+    /**
+     * Assign weighted units (id -> expected millis) to shards: heaviest first onto the
+     * least-loaded shard, ties broken by id and shard number so the result never depends on input order
+     */
+    public static Map<String, Integer> assign(Map<String, Long> weights, int shards) {
+        if (shards < 1) {
+            throw new IllegalArgumentException("shard.total must be at least 1, got " + shards);
+        }
+        List<Map.Entry<String, Long>> units = new ArrayList<>(weights.entrySet());
+        units.sort(Comparator.comparing(Map.Entry<String, Long>::getValue, Collections.reverseOrder())
+                .thenComparing(Map.Entry::getKey));
+
+        long[] load = new long[shards];
+        Map<String, Integer> assignment = new HashMap<>();
+        for (Map.Entry<String, Long> unit : units) {
+            int lightest = 0;
+            for (int shard = 1; shard < shards; shard++) {
+                if (load[shard] < load[lightest]) {
+                    lightest = shard;
+                }
+            }
+            load[lightest] += unit.getValue();
+            assignment.put(unit.getKey(), lightest);
+        }
+        return assignment;
+    }
+
+    /**
+     * Expected millis per shard for an assignment, for logging
+     */
+    public static long[] loads(Map<String, Long> weights, Map<String, Integer> assignment, int shards) {
+        long[] load = new long[shards];
+        for (Map.Entry<String, Integer> entry : assignment.entrySet()) {
+            load[entry.getValue()] += weights.get(entry.getKey());
+        }
+        return load;
+    }
+
+    /**
+     * Where a shard writes its artifacts; unsharded runs keep the usual top-level folders
+     */
+    public static Path outputDir(String name) {
+        return isEnabled() ? shardDir(getShardIndex()).resolve(name) : Paths.get(name);
+    }
+
+    public static Path shardDir(int index) {
+        return Paths.get("target", "shards", "shard-" + index);
+    }
+}
@@ -0,0 +1,63 @@
+package utils;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * TestTimings - Per-test breakdown of browser startup time vs actual test work
+ * Used to show how much wall-clock time the driver pool saves
+ */
+public class TestTimings {
+
+    private static final List<Entry> entries = new CopyOnWriteArrayList<>();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(TestTimings::printSummary, "test-timings-summary"));
+    }
+
+    public static class Entry {
+        private final String testName;
+        private final long startupMillis;
+        private final long workMillis;
+
+        public Entry(String testName, long startupMillis, long workMillis) {
+            this.testName = testName;
+            this.startupMillis = startupMillis;
+            this.workMillis = workMillis;
+        }
+
+        public String getTestName() { return testName; }
+        public long getStartupMillis() { return startupMillis; }
+        public long getWorkMillis() { return workMillis; }
+    }
+
+    /**
+     * Record how long a test waited for its browser and how long it ran
+     */
+    public static void record(String testName, long startupMillis, long workMillis) {
+        entries.add(new Entry(testName, startupMillis, workMillis));
+        System.out.println("⏱️ " + testName + ": startup " + startupMillis + " ms | work " + workMillis + " ms");
+    }
+
+    public static List<Entry> getEntries() {
+        return entries;
+    }
+
+    public static void printSummary() {
+        if (entries.isEmpty()) {
+            return;
+        }
+        long totalStartup = 0;
+        long totalWork = 0;
+        for (Entry entry : entries) {
+            totalStartup += entry.getStartupMillis();
+            totalWork += entry.getWorkMillis();
+        }
+        long total = totalStartup + totalWork;
+        long startupPercent = total == 0 ? 0 : totalStartup * 100 / total;
+
+        System.out.println("⏱️ Timing summary for " + entries.size() + " tests:");
+        System.out.println("   Startup: " + totalStartup + " ms (" + startupPercent + "%)");
+        System.out.println("   Work:    " + totalWork + " ms");
+    }
+}
@@ -0,0 +1,195 @@
+package utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * WaitEngine - The one wait used by all page objects
+ * Polls tightly right after the action (5 ms) and backs off to 250 ms, records the
+ * time-to-ready of every locator in a histogram and, once a locator has enough samples,
+ * uses 3x its p99 (between 2 and 30 s) as its timeout instead of the fixed default.
+ * Histograms are kept across runs in test-history/wait-latency.properties.
+ * -Dwait.timeoutSeconds=10 sets the default timeout, -Dwait.adaptiveTimeouts=false turns adaptation off
+ */
+public class WaitEngine {
+
+    private static final long DEFAULT_TIMEOUT_MILLIS = Long.getLong("wait.timeoutSeconds", 10) * 1000;
+    private static final boolean ADAPTIVE_TIMEOUTS = Boolean.parseBoolean(System.getProperty("wait.adaptiveTimeouts", "true"));
+    private static final int MIN_SAMPLES = 20;
+    private static final int P99_MULTIPLIER = 3;
+    private static final long MIN_TIMEOUT_MILLIS = 2000;
+    private static final long MAX_TIMEOUT_MILLIS = 30000;
+
+    private static final long FIRST_POLL_MILLIS = 5;
+    private static final long MAX_POLL_MILLIS = 250;
+    private static final double BACKOFF = 1.5;
+
+    private static final Path STATS_FILE = Paths.get(System.getProperty("wait.stats.file", "test-history/wait-latency.properties"));
+
+    private static final Map<String, LatencyHistogram> histograms = load();
+    private static final Map<String, AtomicInteger> timeouts = new ConcurrentHashMap<>();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            printSummary();
+            save();
+        }, "wait-engine-summary"));
+    }
+
+    private final WebDriver driver;
+
+    public WaitEngine(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    /**
+     * Wait for a condition on a locator, e.g. until(button, ExpectedConditions::elementToBeClickable)
+     */
+    public <T> T until(By locator, Function<By, ExpectedCondition<T>> condition) {
+        return until(locator.toString(), condition.apply(locator));
+    }
+
+    /**
+     * Wait for a condition that has no locator (e.g. an alert), tracked under the given key
+     */
+    public <T> T until(String key, ExpectedCondition<T> condition) {
+        return until(key, condition, timeoutFor(key));
+    }
+
+    public <T> T until(String key, ExpectedCondition<T> condition, Duration timeout) {
+        long startNanos = System.nanoTime();
+        long deadlineNanos = startNanos + timeout.toNanos();
+        long pollMillis = FIRST_POLL_MILLIS;
+        RuntimeException lastError = null;
+
+        while (true) {
+            try {
+                T value = condition.apply(driver);
+                if (value != null && !Boolean.FALSE.equals(value)) {
+                    histogram(key).record((System.nanoTime() - startNanos) / 1_000_000);
+                    return value;
+                }
+            } catch (NotFoundException | StaleElementReferenceException e) {
+                lastError = e;
+            }
+
+            long remainingMillis = (deadlineNanos - System.nanoTime()) / 1_000_000;
+            if (remainingMillis <= 0) {
+                break;
+            }
+            sleep(Math.min(pollMillis, remainingMillis));
+            pollMillis = Math.min(MAX_POLL_MILLIS, (long) (pollMillis * BACKOFF));
+        }
+
+        timeouts.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet();
+        throw new TimeoutException("Expected condition failed: waiting for " + condition
+                + " (tried for " + timeout.toMillis() + " ms)", lastError);
+    }
+
+    /**
+     * Timeout for a key: derived from its p99 once there are enough samples, otherwise the default
+     */
+    public static Duration timeoutFor(String key) {
+        LatencyHistogram histogram = histograms.get(key);
+        if (!ADAPTIVE_TIMEOUTS || histogram == null || histogram.getCount() < MIN_SAMPLES) {
+            return Duration.ofMillis(DEFAULT_TIMEOUT_MILLIS);
+        }
+        long derived = histogram.percentile(0.99) * P99_MULTIPLIER;
+        return Duration.ofMillis(Math.max(MIN_TIMEOUT_MILLIS, Math.min(MAX_TIMEOUT_MILLIS, derived)));
+    }
+
+    public static LatencyHistogram getHistogram(String key) {
+        return histograms.get(key);
+    }
+
+    public static void printSummary() {
+        if (histograms.isEmpty() && timeouts.isEmpty()) {
+            return;
+        }
+        List<String> keys = new ArrayList<>(histograms.keySet());
+        keys.sort(Comparator.comparingLong((String key) -> histograms.get(key).percentile(0.99)).reversed());
+
+        System.out.println("⏳ Wait latency per locator (p50 / p99 / max, timeout used):");
+        for (String key : keys) {
+            LatencyHistogram histogram = histograms.get(key);
+            AtomicInteger timedOut = timeouts.get(key);
+            System.out.println("   " + key + ": n=" + histogram.getCount()
+                    + " | " + histogram.percentile(0.5) + " / " + histogram.percentile(0.99) + " / " + histogram.getMax() + " ms"
+                    + " | timeout " + timeoutFor(key).toMillis() + " ms"
+                    + (timedOut == null ? "" : " | " + timedOut.get() + " timeouts"));
+        }
+    }
+
+    private static LatencyHistogram histogram(String key) {
+        return histograms.computeIfAbsent(key, k -> new LatencyHistogram());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TimeoutException("Interrupted while waiting", e);
+        }
+    }
+
+    private static Map<String, LatencyHistogram> load() {
+        Map<String, LatencyHistogram> loaded = new ConcurrentHashMap<>();
+        if (!Files.exists(STATS_FILE)) {
+            return loaded;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(STATS_FILE)) {
+            properties.load(in);
+            for (String key : properties.stringPropertyNames()) {
+                loaded.put(key, LatencyHistogram.parse(properties.getProperty(key)));
+            }
+        } catch (IOException | NumberFormatException e) {
+            System.err.println("Failed to read wait latency stats: " + e.getMessage());
+        }
+        return loaded;
+    }
+
+    private static synchronized void save() {
+        if (histograms.isEmpty()) {
+            return;
+        }
+        Properties properties = new Properties();
+        for (Map.Entry<String, LatencyHistogram> entry : new TreeMap<>(histograms).entrySet()) {
+            properties.setProperty(entry.getKey(), entry.getValue().serialize());
+        }
+        try {
+            Path parent = STATS_FILE.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path tempFile = Files.createTempFile(parent, "wait-latency", ".tmp");
+            try (OutputStream out = Files.newOutputStream(tempFile)) {
+                properties.store(out, "Wait time-to-ready histograms per locator (bucket counts, max)");
+            }
+            Files.move(tempFile, STATS_FILE, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Failed to save wait latency stats: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package benchmark;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import utils.BrowserContextHost;
+import utils.DriverFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Compares one Chrome process per session with many browser contexts in one Chrome
+ * Reports throughput and the memory of all chrome/chromedriver processes while the sessions are open
+ *
+ * Run: mvn test-compile exec:java -Dexec.mainClass=benchmark.BrowserModeBenchmark -Dexec.classpathScope=test -Dexec.args="4 5"
+ */
+public class BrowserModeBenchmark {
+
+    private static final String CHECKBOXES_URL = "https://the-internet.herokuapp.com/checkboxes";
+
+    public static void main(String[] args) throws Exception {
+        int sessions = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        System.out.println("🏁 Browser mode benchmark: " + sessions + " sessions x " + iterations + " iterations");
+        run("process", sessions, iterations);
+        run("context", sessions, iterations);
+        BrowserContextHost.shutdown();
+    }
+
+    private static void run(String mode, int sessions, int iterations) throws Exception {
+        System.setProperty("driver.mode", mode);
+        ExecutorService executor = Executors.newFixedThreadPool(sessions);
+        List<WebDriver> drivers = new ArrayList<>();
+        try {
+            long startNanos = System.nanoTime();
+            List<Future<WebDriver>> launches = new ArrayList<>();
+            for (int i = 0; i < sessions; i++) {
+                launches.add(executor.submit(DriverFactory::createDriver));
+            }
+            for (Future<WebDriver> launch : launches) {
+                drivers.add(launch.get());
+            }
+            long launchMillis = (System.nanoTime() - startNanos) / 1_000_000;
+
+            long workStartNanos = System.nanoTime();
+            List<Future<?>> work = new ArrayList<>();
+            for (WebDriver driver : drivers) {
+                work.add(executor.submit(() -> runWorkload(driver, iterations)));
+            }
+            for (Future<?> future : work) {
+                future.get();
+            }
+            long workMillis = (System.nanoTime() - workStartNanos) / 1_000_000;
+            long memoryMb = chromeMemoryKb() / 1024;
+
+            double throughput = sessions * iterations * 1000.0 / Math.max(1, workMillis);
+            System.out.println(String.format("%-8s launch %6d ms | work %6d ms | %.2f iterations/s | chrome memory %d MB",
+                    mode, launchMillis, workMillis, throughput, memoryMb));
+        } finally {
+            for (WebDriver driver : drivers) {
+                if (BrowserContextHost.isContextDriver(driver)) {
+                    BrowserContextHost.closeContextDriver(driver);
+                }
+                driver.quit();
+            }
+            executor.shutdown();
+        }
+    }
+
+    private static void runWorkload(WebDriver driver, int iterations) {
+        for (int i = 0; i < iterations; i++) {
+            driver.get(CHECKBOXES_URL);
+            driver.findElement(By.cssSelector("input[type='checkbox']")).click();
+        }
+    }
+
+    /**
+     * Proportional set size (falls back to RSS) of every chrome and chromedriver process, Linux only
+     */
+    private static long chromeMemoryKb() {
+        return ProcessHandle.allProcesses()
+                .filter(process -> process.info().command().map(command -> command.contains("chrome")).orElse(false))
+                .mapToLong(process -> readMemoryKb(process.pid()))
+                .sum();
+    }
+
+    private static long readMemoryKb(long pid) {
+        Path rollup = Paths.get("/proc", String.valueOf(pid), "smaps_rollup");
+        Path status = Paths.get("/proc", String.valueOf(pid), "status");
+        try {
+            if (Files.exists(rollup)) {
+                return readField(rollup, "Pss:");
+            }
+            return readField(status, "VmRSS:");
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static long readField(Path file, String field) throws IOException {
+        for (String line : Files.readAllLines(file)) {
+            if (line.startsWith(field)) {
+                return Long.parseLong(line.substring(field.length()).replace("kB", "").trim());
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,104 @@
+package benchmark;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import utils.DriverFactory;
+import utils.JsLocator;
+import utils.LocatorOptimizer;
+
+import java.net.URISyntaxException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lookup latency of the page objects' XPath locators against hand-written CSS equivalents and, where
+ * LocatorOptimizer finds one (plain attribute XPaths only), its verified CSS rewrite. Uses local copies of the pages (src/test/resources/pages) so network time does not hide the difference.
+ * "driver" is a findElements round trip, "in page" is the engine cost alone measured inside the browser
+ *
+ * Run: mvn test-compile exec:java -Dexec.mainClass=benchmark.LocatorBenchmark -Dexec.classpathScope=test -Dexec.args="500"
+ */
+public class LocatorBenchmark {
+
+    private static final int IN_PAGE_ITERATIONS = 10_000;
+
+    private static final String IN_PAGE_SCRIPT =
+            JsLocator.FIND_ALL
+            + "var type = arguments[0], value = arguments[1], n = arguments[2];"
+            + "for (var w = 0; w < 100; w++) { findAll(type, value); }"
+            + "var start = performance.now();"
+            + "for (var i = 0; i < n; i++) { findAll(type, value); }"
+            + "return (performance.now() - start) * 1000 / n;";
+
+    public static void main(String[] args) throws Exception {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+
+        // XPath sama dengan locator di CheckboxPage dan AlertsPage, CSS padanannya ditulis manual
+        Map<String, List<By[]>> pages = new LinkedHashMap<>();
+        pages.put("checkboxes.html", Arrays.asList(
+                new By[]{By.xpath("//input[@type='checkbox'][1]"), By.cssSelector("#checkboxes input:nth-of-type(1)")},
+                new By[]{By.xpath("//input[@type='checkbox'][2]"), By.cssSelector("#checkboxes input:nth-of-type(2)")},
+                new By[]{By.xpath("//input[@type='checkbox']"), By.cssSelector("#checkboxes input[type='checkbox']")}));
+        pages.put("javascript_alerts.html", Arrays.asList(
+                new By[]{By.xpath("//button[text()='Click for JS Alert']"), By.cssSelector("button[onclick='jsAlert()']")},
+                new By[]{By.xpath("//button[text()='Click for JS Confirm']"), By.cssSelector("button[onclick='jsConfirm()']")},
+                new By[]{By.xpath("//button[text()='Click for JS Prompt']"), By.cssSelector("button[onclick='jsPrompt()']")}));
+
+        System.out.println("🏁 Locator benchmark: " + iterations + " findElements per strategy");
+        WebDriver driver = DriverFactory.createDriver();
+        try {
+            for (Map.Entry<String, List<By[]>> page : pages.entrySet()) {
+                driver.get(pageUrl(page.getKey()));
+                System.out.println("\n📄 " + page.getKey());
+                for (By[] strategies : page.getValue()) {
+                    By xpath = strategies[0];
+                    By css = strategies[1];
+                    if (!driver.findElements(xpath).equals(driver.findElements(css))) {
+                        System.out.println("   ⚠️ " + css + " does not match the same nodes as " + xpath);
+                    }
+                    measure(driver, xpath, iterations);
+                    measure(driver, css, iterations);
+                    LocatorOptimizer.RewriteResult result = LocatorOptimizer.rewrite(driver, xpath);
+                    if (result.getRewrite() != null) {
+                        measure(driver, result.getRewrite(), iterations);
+                    }
+                }
+            }
+        } finally {
+            driver.quit();
+        }
+    }
+
+    private static void measure(WebDriver driver, By locator, int iterations) {
+        for (int i = 0; i < Math.min(50, iterations); i++) {
+            driver.findElements(locator);
+        }
+        List<Long> samples = new ArrayList<>();
+        for (int i = 0; i < iterations; i++) {
+            long startNanos = System.nanoTime();
+            driver.findElements(locator);
+            samples.add(System.nanoTime() - startNanos);
+        }
+        samples.sort(null);
+
+        String[] query = JsLocator.requireQuery(locator);
+        double inPageMicros = ((Number) ((JavascriptExecutor) driver)
+                .executeScript(IN_PAGE_SCRIPT, query[0], query[1], IN_PAGE_ITERATIONS)).doubleValue();
+
+        System.out.println(String.format("   %-60s driver p50 %7.1f µs | p95 %7.1f µs | in page %6.2f µs",
+                locator, micros(samples, 0.50), micros(samples, 0.95), inPageMicros));
+    }
+
+    private static double micros(List<Long> sorted, double percentile) {
+        int index = (int) Math.min(sorted.size() - 1, Math.ceil(percentile * sorted.size()) - 1);
+        return sorted.get(Math.max(0, index)) / 1000.0;
+    }
+
+    private static String pageUrl(String resource) throws URISyntaxException {
+        return Paths.get(LocatorBenchmark.class.getResource("/pages/" + resource).toURI()).toUri().toString();
+    }
+}
@@ -0,0 +1,103 @@
+package benchmark;
+
+import utils.DirectBufferPool;
+import utils.StreamingBase64;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Base64;
+import java.util.Random;
+
+/**
+ * Compares writing a base64 screenshot by decoding it to a byte[] first (what OutputType.BYTES/FILE do)
+ * with streaming it through a pooled direct buffer. Reports time and bytes allocated on the heap per write.
+ * Needs no browser: 1080p and 4K PNGs are generated locally
+ *
+ * Run: mvn test-compile exec:java -Dexec.mainClass=benchmark.ScreenshotDecodeBenchmark -Dexec.classpathScope=test -Dexec.args="50"
+ */
+public class ScreenshotDecodeBenchmark {
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    public static void main(String[] args) throws Exception {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 50;
+        Path directory = Files.createTempDirectory("screenshot-decode");
+
+        System.out.println("🏁 Screenshot decode benchmark: " + iterations + " iterations");
+        run("1080p", screenshot(1920, 1080), directory, iterations);
+        run("4K", screenshot(3840, 2160), directory, iterations);
+    }
+
+    private static void run(String label, String base64, Path directory, int iterations) throws IOException {
+        System.out.println("\n📐 " + label + ": " + StreamingBase64.decodedLength(base64) / 1024 + " KB PNG, "
+                + base64.length() / 1024 + " KB base64");
+        measure("byte[] decode", iterations, directory, file -> {
+            byte[] png = Base64.getMimeDecoder().decode(base64);
+            Files.write(file, png);
+        });
+        ByteBuffer buffer = DirectBufferPool.acquire();
+        measure("streaming", iterations, directory, file -> {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                StreamingBase64.decodeTo(base64, channel, buffer);
+            }
+        });
+        DirectBufferPool.release(buffer);
+    }
+
+    private interface Write {
+        void to(Path file) throws IOException;
+    }
+
+    private static void measure(String mode, int iterations, Path directory, Write write) throws IOException {
+        Path file = directory.resolve("screenshot.png");
+        for (int i = 0; i < 5; i++) {
+            write.to(file); // warm-up
+        }
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = THREADS.getThreadAllocatedBytes(threadId);
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            write.to(file);
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+        long allocated = THREADS.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        System.out.printf("   %-14s %7.2f ms/write | %8d KB allocated/write%n",
+                mode, elapsedNanos / 1e6 / iterations, allocated / iterations / 1024);
+    }
+
+    /**
+     * Page-like image: flat blocks with noisy "text" rows, so the PNG is roughly as large as a real one
+     */
+    private static String screenshot(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        Random random = new Random(42);
+        graphics.setColor(Color.WHITE);
+        graphics.fillRect(0, 0, width, height);
+        for (int y = 0; y < height; y += 24) {
+            graphics.setColor(new Color(random.nextInt(0xFFFFFF)));
+            graphics.fillRect(0, y, width / 4, 20);
+            for (int x = width / 4 + 20; x < width - 20; x += 2) {
+                if (random.nextInt(2) == 0) {
+                    image.setRGB(x, y + random.nextInt(16), random.nextInt(0xFFFFFF));
+                }
+            }
+        }
+        graphics.dispose();
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", png);
+        return Base64.getEncoder().encodeToString(png.toByteArray());
+    }
+}
@@ -0,0 +1,18 @@
+package testng;
+
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import utils.ScreenshotTranscoder;
+import utils.ScreenshotWriter;
+
+/**
+ * Waits for queued screenshots at suite end, so reports generated right after the suite see every file
+ */
+public class ArtifactFlushListener implements ISuiteListener {
+
+    @Override
+    public void onFinish(ISuite suite) {
+        ScreenshotTranscoder.flush();
+        ScreenshotWriter.flush();
+    }
+}
@@ -6,10 +6,7 @@ import org.testng.annotations.*;
 import pages.*;
 import utils.ScreenshotUtils;
 import utils.AllureBugReporter;
-import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
-import io.github.bonigarcia.wdm.WebDriverManager;
+import utils.StartsOn;
 
 /**
  * Comprehensive Test Suite for The Internet Herokuapp
@@ -19,49 +16,13 @@ import io.github.bonigarcia.wdm.WebDriverManager;
  */
 @Epic("The Internet Herokuapp Automation")
 @Feature("Comprehensive UI Testing")
-public class ComprehensiveTestNG {
-    
-    private WebDriver driver;
-    private DropdownPage dropdownPage;
-    private CheckboxPage checkboxPage;
-    private FileUploadPage fileUploadPage;
-    private AlertsPage alertsPage;
-    private HoverPage hoverPage;
-    
-    @BeforeClass
-    @Step("Setup WebDriver and initialize pages")
-    public void setUp() {
-        WebDriverManager.chromedriver().setup();
-        
-        ChromeOptions options = new ChromeOptions();
-        options.addArguments("--disable-notifications");
-        options.addArguments("--disable-popup-blocking");
-        options.addArguments("--start-maximized");
-        
-        driver = new ChromeDriver(options);
-        driver.manage().window().maximize();
-        
-        // Initialize page objects
-        dropdownPage = new DropdownPage(driver);
-        checkboxPage = new CheckboxPage(driver);
-        fileUploadPage = new FileUploadPage(driver);
-        alertsPage = new AlertsPage(driver);
-        hoverPage = new HoverPage(driver);
-    }
-    
-    @AfterClass
-    @Step("Close WebDriver")
-    public void tearDown() {
-        if (driver != null) {
-            driver.quit();
-        }
-    }
+public class ComprehensiveTestNG extends TestNGBase {
     
     @AfterMethod
     public void afterMethod(org.testng.ITestResult result) {
         if (result.getStatus() == org.testng.ITestResult.FAILURE) {
             String testName = result.getMethod().getMethodName();
-            ScreenshotUtils.takeScreenshot(driver, testName);
+            ScreenshotUtils.takeScreenshotOnFailure(getDriver(), testName);
             
             // Auto bug reporting for failed tests
             AllureBugReporter.reportHighBug(
@@ -70,7 +31,7 @@ public class ComprehensiveTestNG {
                 "Test should pass successfully",
                 "Test failed with exception: " + result.getThrowable().getClass().getSimpleName(),
                 "1. Execute test: " + testName + "\n2. Observe failure\n3. Check logs for details",
-                driver
+                getDriver()
             );
         }
     }
@@ -81,7 +42,9 @@ public class ComprehensiveTestNG {
     @Story("Dropdown Selection")
     @Description("Test dropdown selection functionality")
     @Severity(SeverityLevel.NORMAL)
+    @StartsOn("/dropdown")
     public void testDropdownSelection() {
+        DropdownPage dropdownPage = new DropdownPage(getDriver());
         dropdownPage.navigateToDropdown();
         
         // Test selecting Option 1
@@ -101,7 +64,9 @@ public class ComprehensiveTestNG {
     @Story("Dropdown Validation")
     @Description("Test dropdown options availability")
     @Severity(SeverityLevel.MINOR)
+    @StartsOn("/dropdown")
     public void testDropdownOptions() {
+        DropdownPage dropdownPage = new DropdownPage(getDriver());
         dropdownPage.navigateToDropdown();
         
         // Verify dropdown has expected options
@@ -117,7 +82,9 @@ public class ComprehensiveTestNG {
     @Story("Checkbox Interaction")
     @Description("Test checkbox check/uncheck functionality")
     @Severity(SeverityLevel.NORMAL)
+    @StartsOn("/checkboxes")
     public void testCheckboxInteraction() {
+        CheckboxPage checkboxPage = new CheckboxPage(getDriver());
         checkboxPage.navigateToCheckboxes();
         
         // Test checking checkbox 1
@@ -143,7 +110,9 @@ public class ComprehensiveTestNG {
     @Story("Multiple Checkbox Selection")
     @Description("Test multiple checkbox selection")
     @Severity(SeverityLevel.NORMAL)
+    @StartsOn("/checkboxes")
     public void testMultipleCheckboxSelection() {
+        CheckboxPage checkboxPage = new CheckboxPage(getDriver());
         checkboxPage.navigateToCheckboxes();
         
         // Check both checkboxes
@@ -167,7 +136,9 @@ public class ComprehensiveTestNG {
     @Story("File Upload")
     @Description("Test file upload functionality")
     @Severity(SeverityLevel.CRITICAL)
+    @StartsOn("/upload")
     public void testFileUpload() {
+        FileUploadPage fileUploadPage = new FileUploadPage(getDriver());
         fileUploadPage.navigateToFileUpload();
         
         // Create a test file
@@ -190,7 +161,9 @@ public class ComprehensiveTestNG {
     @Story("File Upload Validation")
     @Description("Test file upload with different file types")
     @Severity(SeverityLevel.NORMAL)
+    @StartsOn("/upload")
     public void testFileUploadValidation() {
+        FileUploadPage fileUploadPage = new FileUploadPage(getDriver());
         fileUploadPage.navigateToFileUpload();
         
         // Test with image file
@@ -210,7 +183,9 @@ public class ComprehensiveTestNG {
     @Story("JavaScript Alerts")
     @Description("Test JavaScript alert handling")
     @Severity(SeverityLevel.NORMAL)
+    @StartsOn("/javascript_alerts")
     public void testJavaScriptAlert() {
+        AlertsPage alertsPage = new AlertsPage(getDriver());
         alertsPage.navigateToAlerts();
         
         // Test JS Alert
@@ -230,7 +205,9 @@ public class ComprehensiveTestNG {
     @Story("JavaScript Confirm")
     @Description("Test JavaScript confirm dialog handling")
     @Severity(SeverityLevel.NORMAL)
+    @StartsOn("/javascript_alerts")
     public void testJavaScriptConfirm() {
+        AlertsPage alertsPage = new AlertsPage(getDriver());
         alertsPage.navigateToAlerts();
         
         // Test JS Confirm - Accept
@@ -245,6 +222,7 @@ public class ComprehensiveTestNG {
         // Test JS Confirm - Dismiss
         alertsPage.clickJSConfirm();
         alertsPage.dismissAlert();
+        Assert.assertTrue(alertsPage.isAlertAbsent(), "No dialog should remain after dismiss");
         resultText = alertsPage.getResultText();
         Assert.assertEquals(resultText, "You clicked: Cancel", "Result should show Cancel was clicked");
         
@@ -255,7 +233,9 @@ public class ComprehensiveTestNG {
     @Story("JavaScript Prompt")
     @Description("Test JavaScript prompt dialog handling")
     @Severity(SeverityLevel.NORMAL)
+    @StartsOn("/javascript_alerts")
     public void testJavaScriptPrompt() {
+        AlertsPage alertsPage = new AlertsPage(getDriver());
         alertsPage.navigateToAlerts();
         
         String testInput = "Hello Automation!";
@@ -280,7 +260,9 @@ public class ComprehensiveTestNG {
     @Story("Hover Actions")
     @Description("Test mouse hover functionality")
     @Severity(SeverityLevel.NORMAL)
+    @StartsOn("/hovers")
     public void testHoverActions() {
+        HoverPage hoverPage = new HoverPage(getDriver());
         hoverPage.navigateToHovers();
         
         // Test hover on first figure (index 0)
@@ -309,7 +291,9 @@ public class ComprehensiveTestNG {
     @Story("Hover Profile Links")
     @Description("Test hover profile links functionality")
     @Severity(SeverityLevel.MINOR)
+    @StartsOn("/hovers")
     public void testHoverProfileLinks() {
+        HoverPage hoverPage = new HoverPage(getDriver());
         hoverPage.navigateToHovers();
         
         // Test clicking profile links after hover
@@ -321,6 +305,6 @@ public class ComprehensiveTestNG {
         Assert.assertTrue(hoverPage.isUserProfilePageLoaded(), "Should navigate to user profile page");
         
         System.out.println("✅ Hover profile links test passed!");
-        System.out.println("Profile URL: " + driver.getCurrentUrl());
+        System.out.println("Profile URL: " + getDriver().getCurrentUrl());
     }
 }
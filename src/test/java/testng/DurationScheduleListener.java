@@ -0,0 +1,190 @@
+package testng;
+
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestContext;
+import org.testng.ITestListener;
+import org.testng.ITestNGMethod;
+import org.testng.xml.XmlTest;
+import utils.DurationScheduler;
+import utils.TestDurationHistory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToLongFunction;
+
+/**
+ * Orders independent test methods longest-first using durations from earlier runs
+ * (TestDurationHistory), so the slow tests start early and the workers finish together.
+ * With page locality on (-Dschedule.byPage) tests with the same @StartsOn page are kept together,
+ * each page group weighted by its total duration; this listener is the only one that sets the order.
+ * Methods with dependsOnMethods/dependsOnGroups keep their original order and go first.
+ * At suite end a report compares predicted and actual finish times per <test>: every <test> is
+ * planned from 0 and measured from its own start, the suite total is the sum of the <test> makespans.
+ * Disable with -Dschedule.byDuration=false
+ */
+public class DurationScheduleListener implements IMethodInterceptor, ISuiteListener, ITestListener {
+
+    private static final Path REPORT_FILE = Paths.get("target", "schedule-report.txt");
+
+    // Per <test> (nama XmlTest): slot hasil plan, makespan prediksi dan waktu mulai
+    private static final Map<String, Map<String, DurationScheduler.Slot>> plannedSlots = new ConcurrentHashMap<>();
+    private static final Map<String, Long> predictedMakespans = new ConcurrentHashMap<>();
+    private static final Map<String, Long> testStartMillis = new ConcurrentHashMap<>();
+    private static final Map<String, Long> actualFinish = new ConcurrentHashMap<>();
+
+    private final ToLongFunction<String> estimates;
+
+    public DurationScheduleListener() {
+        this(TestDurationHistory::estimate);
+    }
+
+    /**
+     * Scheduler with its own expected durations per test id, e.g. for testing the ordering
+     */
+    public DurationScheduleListener(ToLongFunction<String> estimates) {
+        this.estimates = estimates;
+    }
+
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(System.getProperty("schedule.byDuration", "true"));
+    }
+
+    /**
+     * Called from TestNGBase when a test (including its config methods) is done
+     */
+    static void recordFinish(String testName, String testId, long finishMillis) {
+        actualFinish.put(testName + "/" + testId, finishMillis);
+    }
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        if (!isEnabled()) {
+            return methods;
+        }
+
+        List<IMethodInstance> ordered = new ArrayList<>();
+        Map<String, IMethodInstance> independent = new LinkedHashMap<>();
+        Map<String, Long> expected = new LinkedHashMap<>();
+        Map<String, String> startPages = new HashMap<>();
+        for (IMethodInstance instance : methods) {
+            ITestNGMethod method = instance.getMethod();
+            String testId = testId(method);
+            if (method.getMethodsDependedUpon().length > 0 || method.getGroupsDependedUpon().length > 0
+                    || independent.containsKey(testId)) {
+                ordered.add(instance);
+            } else {
+                independent.put(testId, instance);
+                expected.put(testId, estimates.applyAsLong(testId));
+                startPages.put(testId, String.valueOf(PageLocalityInterceptor.startUrl(instance)));
+            }
+        }
+
+        int workers = workerCount(context.getCurrentXmlTest());
+        DurationScheduler.Plan plan = PageLocalityInterceptor.isEnabled()
+                ? DurationScheduler.planGroups(expected, startPages::get, workers)
+                : DurationScheduler.plan(expected, workers);
+        Map<String, DurationScheduler.Slot> slots = new LinkedHashMap<>();
+        for (String testId : plan.getOrder()) {
+            ordered.add(independent.get(testId));
+            slots.put(testId, plan.getSlot(testId));
+        }
+        plannedSlots.put(context.getName(), slots);
+        predictedMakespans.put(context.getName(), plan.getMakespan());
+
+        // Priority menentukan urutan eksekusi, jadi di-overwrite sesuai jadwal
+        for (int i = 0; i < ordered.size(); i++) {
+            ordered.get(i).getMethod().setPriority(i);
+        }
+
+        System.out.println("📅 Scheduled " + expected.size() + " tests longest-first"
+                + (PageLocalityInterceptor.isEnabled() ? " by start page" : "") + ", predicted makespan "
+                + plan.getMakespan() + " ms");
+        return ordered;
+    }
+
+    @Override
+    public void onStart(ISuite suite) {
+        plannedSlots.clear();
+        predictedMakespans.clear();
+        testStartMillis.clear();
+        actualFinish.clear();
+    }
+
+    @Override
+    public void onStart(ITestContext context) {
+        testStartMillis.put(context.getName(), context.getStartDate().getTime());
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (plannedSlots.isEmpty()) {
+            return;
+        }
+        StringBuilder report = new StringBuilder();
+        long predictedTotal = 0;
+        long actualTotal = 0;
+        List<Map.Entry<String, Map<String, DurationScheduler.Slot>>> tests = new ArrayList<>(plannedSlots.entrySet());
+        tests.sort(Comparator.comparingLong(test -> testStartMillis.getOrDefault(test.getKey(), Long.MAX_VALUE)));
+        for (Map.Entry<String, Map<String, DurationScheduler.Slot>> test : tests) {
+            String testName = test.getKey();
+            Long startMillis = testStartMillis.get(testName);
+            report.append(String.format("<test> %s%n", testName));
+            report.append(String.format("%-50s %6s %12s %12s %10s%n", "Test", "Worker", "Predicted", "Actual", "Delta"));
+            long actualMakespan = 0;
+            List<DurationScheduler.Slot> slots = new ArrayList<>(test.getValue().values());
+            slots.sort(Comparator.comparingLong(DurationScheduler.Slot::getPredictedFinish));
+            for (DurationScheduler.Slot slot : slots) {
+                Long finish = actualFinish.get(testName + "/" + slot.getTestId());
+                if (finish == null || startMillis == null) {
+                    report.append(String.format("%-50s %6d %10d ms %12s %10s%n",
+                            slot.getTestId(), slot.getWorker(), slot.getPredictedFinish(), "-", "-"));
+                    continue;
+                }
+                // Diukur dari mulainya <test> ini sendiri, bukan dari awal suite
+                long actual = finish - startMillis;
+                actualMakespan = Math.max(actualMakespan, actual);
+                report.append(String.format("%-50s %6d %10d ms %10d ms %+10d%n",
+                        slot.getTestId(), slot.getWorker(), slot.getPredictedFinish(), actual,
+                        actual - slot.getPredictedFinish()));
+            }
+            long predictedMakespan = predictedMakespans.getOrDefault(testName, 0L);
+            report.append(String.format("Makespan %s: predicted %d ms | actual %d ms%n%n",
+                    testName, predictedMakespan, actualMakespan));
+            predictedTotal += predictedMakespan;
+            actualTotal += actualMakespan;
+        }
+        report.append(String.format("Suite (sum of %d <test> makespans): predicted %d ms | actual %d ms%n",
+                plannedSlots.size(), predictedTotal, actualTotal));
+
+        System.out.println("📅 Schedule report (predicted vs actual finish):");
+        System.out.print(report);
+        try {
+            Files.createDirectories(REPORT_FILE.getParent());
+            Files.writeString(REPORT_FILE, report);
+        } catch (IOException e) {
+            System.err.println("Failed to write schedule report: " + e.getMessage());
+        }
+    }
+
+    static String testId(ITestNGMethod method) {
+        return TestDurationHistory.testId(method.getRealClass(), method.getMethodName());
+    }
+
+    private static int workerCount(XmlTest xmlTest) {
+        return xmlTest.getParallel() != null && xmlTest.getParallel().isParallel()
+                ? xmlTest.getThreadCount()
+                : 1;
+    }
+}
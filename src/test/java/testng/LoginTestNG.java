@@ -1,23 +1,28 @@
 package testng;
 
+import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 import org.testng.Assert;
 import pages.LoginPage;
+import pages.LoginPageState;
+import utils.StartsOn;
 
+@StartsOn("/login")
 public class LoginTestNG extends TestNGBase {
 
     @Test(priority = 1, description = "Test Login dengan Username dan Password Valid")
     public void testValidLogin() {
-        LoginPage loginPage = new LoginPage(driver);
+        LoginPage loginPage = new LoginPage(getDriver());
         
         // Credentials valid untuk The Internet Herokuapp
         loginPage.login("tomsmith", "SuperSecretPassword!");
         
-        // Verifikasi login berhasil
-        Assert.assertTrue(loginPage.isLoginSuccessful(), "Login should be successful with valid credentials");
-        Assert.assertTrue(loginPage.isLogoutButtonVisible(), "Logout button should be visible after successful login");
+        // Verifikasi login berhasil, semua dicek dari satu snapshot halaman
+        LoginPageState state = loginPage.getState();
+        Assert.assertTrue(state.isLoginSuccessful(), "Login should be successful with valid credentials");
+        Assert.assertTrue(state.isLogoutButtonVisible(), "Logout button should be visible after successful login");
         
-        String flashMessage = loginPage.getFlashMessage();
+        String flashMessage = state.getFlashMessage();
         Assert.assertTrue(flashMessage.contains("You logged into a secure area!"), 
                          "Flash message should indicate successful login");
         
@@ -27,16 +32,17 @@ public class LoginTestNG extends TestNGBase {
 
     @Test(priority = 2, description = "Test Login dengan Username Invalid")
     public void testInvalidUsername() {
-        LoginPage loginPage = new LoginPage(driver);
+        LoginPage loginPage = new LoginPage(getDriver());
         
         // Username invalid, password valid
         loginPage.login("invaliduser", "SuperSecretPassword!");
         
         // Verifikasi login gagal
-        Assert.assertTrue(loginPage.isLoginFailed(), "Login should fail with invalid username");
-        Assert.assertFalse(loginPage.isLogoutButtonVisible(), "Logout button should not be visible after failed login");
+        LoginPageState state = loginPage.getState();
+        Assert.assertTrue(state.isLoginFailed(), "Login should fail with invalid username");
+        Assert.assertFalse(state.isLogoutButtonVisible(), "Logout button should not be visible after failed login");
         
-        String flashMessage = loginPage.getFlashMessage();
+        String flashMessage = state.getFlashMessage();
         Assert.assertTrue(flashMessage.contains("Your username is invalid!"), 
                          "Flash message should indicate invalid username");
         
@@ -46,16 +52,17 @@ public class LoginTestNG extends TestNGBase {
 
     @Test(priority = 3, description = "Test Login dengan Password Invalid")
     public void testInvalidPassword() {
-        LoginPage loginPage = new LoginPage(driver);
+        LoginPage loginPage = new LoginPage(getDriver());
         
         // Username valid, password invalid
         loginPage.login("tomsmith", "wrongpassword");
         
         // Verifikasi login gagal
-        Assert.assertTrue(loginPage.isLoginFailed(), "Login should fail with invalid password");
-        Assert.assertFalse(loginPage.isLogoutButtonVisible(), "Logout button should not be visible after failed login");
+        LoginPageState state = loginPage.getState();
+        Assert.assertTrue(state.isLoginFailed(), "Login should fail with invalid password");
+        Assert.assertFalse(state.isLogoutButtonVisible(), "Logout button should not be visible after failed login");
         
-        String flashMessage = loginPage.getFlashMessage();
+        String flashMessage = state.getFlashMessage();
         Assert.assertTrue(flashMessage.contains("Your password is invalid!"), 
                          "Flash message should indicate invalid password");
         
@@ -65,7 +72,7 @@ public class LoginTestNG extends TestNGBase {
 
     @Test(priority = 4, description = "Test Login dan Logout")
     public void testLoginAndLogout() {
-        LoginPage loginPage = new LoginPage(driver);
+        LoginPage loginPage = new LoginPage(getDriver());
         
         // Login dengan credentials valid
         loginPage.login("tomsmith", "SuperSecretPassword!");
@@ -75,14 +82,44 @@ public class LoginTestNG extends TestNGBase {
         loginPage.clickLogoutButton();
         
         // Verifikasi kembali ke halaman login
-        String currentUrl = driver.getCurrentUrl();
-        Assert.assertTrue(currentUrl.contains("/login"), "Should be redirected to login page after logout");
+        LoginPageState state = loginPage.getState();
+        Assert.assertTrue(state.getUrl().contains("/login"), "Should be redirected to login page after logout");
+        Assert.assertFalse(state.isLogoutButtonVisible(), "Logout button should be gone after logout");
         
-        String flashMessage = loginPage.getFlashMessage();
+        String flashMessage = state.getFlashMessage();
         Assert.assertTrue(flashMessage.contains("You logged out of the secure area!"), 
                          "Flash message should indicate successful logout");
         
         System.out.println("✅ Login and logout test passed!");
         System.out.println("Flash message: " + flashMessage);
     }
+
+    @DataProvider(name = "invalidCredentials")
+    public Object[][] invalidCredentials() {
+        return new Object[][] {
+            {"invaliduser", "SuperSecretPassword!", "Your username is invalid!"},
+            {"TomSmith", "SuperSecretPassword!", "Your username is invalid!"},
+            {"", "SuperSecretPassword!", "Your username is invalid!"},
+            {"", "", "Your username is invalid!"},
+            {"tomsmith", "wrongpassword", "Your password is invalid!"},
+            {"tomsmith", "supersecretpassword!", "Your password is invalid!"},
+            {"tomsmith", "", "Your password is invalid!"},
+            {"tomsmith", "SuperSecretPassword! ", "Your password is invalid!"}
+        };
+    }
+
+    @Test(priority = 5, dataProvider = "invalidCredentials", description = "Test Login Negatif (data-driven)")
+    public void testInvalidLoginMatrix(String username, String password, String expectedMessage) {
+        // Mode fast (default): isi form + submit dalam satu script call per baris data
+        LoginPage loginPage = new LoginPage(getDriver());
+        loginPage.login(username, password);
+        
+        LoginPageState state = loginPage.getState();
+        Assert.assertTrue(state.isLoginFailed(), "Login should fail for '" + username + "'");
+        Assert.assertFalse(state.isLogoutButtonVisible(), "Logout button should not be visible after failed login");
+        Assert.assertTrue(state.getFlashMessage().contains(expectedMessage), 
+                         "Flash message should contain '" + expectedMessage + "' but was: " + state.getFlashMessage());
+        
+        System.out.println("✅ Invalid login rejected for '" + username + "': " + expectedMessage);
+    }
 }
@@ -0,0 +1,40 @@
+package testng;
+
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+import utils.PageLocality;
+
+import java.util.List;
+
+/**
+ * Pulls tests that start on the same page (@StartsOn) together, keeping the order chosen by
+ * the earlier interceptors within and between the groups, so consecutive tests can take a
+ * pooled session that is already on their page. Disable with -Dschedule.byPage=false.
+ * While DurationScheduleListener is on it already plans by page group and owns the order,
+ * so this interceptor leaves the list alone
+ */
+public class PageLocalityInterceptor implements IMethodInterceptor {
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        if (!isEnabled() || DurationScheduleListener.isEnabled()) {
+            return methods;
+        }
+        List<IMethodInstance> grouped = PageLocality.groupByStartPage(methods, PageLocalityInterceptor::startUrl);
+        for (int i = 0; i < grouped.size(); i++) {
+            grouped.get(i).getMethod().setPriority(i);
+        }
+        return grouped;
+    }
+
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(System.getProperty("schedule.byPage", "true"));
+    }
+
+    static String startUrl(IMethodInstance instance) {
+        ITestNGMethod method = instance.getMethod();
+        return PageLocality.startUrl(method.getRealClass(), method.getConstructorOrMethod().getMethod());
+    }
+}
@@ -0,0 +1,27 @@
+package testng;
+
+import org.testng.IAlterSuiteListener;
+import org.testng.xml.XmlSuite;
+
+import java.util.List;
+
+/**
+ * Lets -Dparallel and -DthreadCount override the parallel settings of any suite,
+ * including ones defined in XML, e.g. mvn test -Dparallel=classes -DthreadCount=8
+ */
+public class ParallelSuiteListener implements IAlterSuiteListener {
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        String parallel = System.getProperty("parallel");
+        Integer threadCount = Integer.getInteger("threadCount");
+        for (XmlSuite suite : suites) {
+            if (parallel != null) {
+                suite.setParallel(XmlSuite.ParallelMode.getValidParallel(parallel));
+            }
+            if (threadCount != null) {
+                suite.setThreadCount(threadCount);
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package testng;
+
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.xml.XmlSuite;
+import utils.DriverPool;
+
+/**
+ * Pre-warms the driver pool at suite start, sized from the suite's parallel settings
+ */
+public class PoolWarmupListener implements ISuiteListener {
+
+    @Override
+    public void onStart(ISuite suite) {
+        XmlSuite xmlSuite = suite.getXmlSuite();
+        int sessions = xmlSuite.getParallel() != null && xmlSuite.getParallel().isParallel()
+                ? xmlSuite.getThreadCount()
+                : 1;
+        DriverPool.prewarm(sessions);
+    }
+}
@@ -0,0 +1,67 @@
+package testng;
+
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+import utils.TestDurationHistory;
+import utils.TestSharder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps only the test methods that belong to this shard (-Dshard.index / -Dshard.total).
+ * Methods are weighted by their recorded duration; a class that uses dependsOn* stays
+ * together on one shard so its dependencies still resolve.
+ */
+public class ShardInterceptor implements IMethodInterceptor {
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        if (!TestSharder.isEnabled()) {
+            return methods;
+        }
+
+        Set<Class<?>> dependentClasses = new HashSet<>();
+        for (IMethodInstance instance : methods) {
+            ITestNGMethod method = instance.getMethod();
+            if (method.getMethodsDependedUpon().length > 0 || method.getGroupsDependedUpon().length > 0) {
+                dependentClasses.add(method.getRealClass());
+            }
+        }
+
+        Map<IMethodInstance, String> unitOf = new LinkedHashMap<>();
+        Map<String, Long> weights = new LinkedHashMap<>();
+        for (IMethodInstance instance : methods) {
+            ITestNGMethod method = instance.getMethod();
+            String testId = DurationScheduleListener.testId(method);
+            String unit = dependentClasses.contains(method.getRealClass())
+                    ? method.getRealClass().getSimpleName() + ".*"
+                    : testId;
+            unitOf.put(instance, unit);
+            weights.merge(unit, TestDurationHistory.estimate(testId), Long::sum);
+        }
+
+        int shard = TestSharder.getShardIndex();
+        int total = TestSharder.getShardTotal();
+        Map<String, Integer> assignment = TestSharder.assign(weights, total);
+        List<IMethodInstance> selected = new ArrayList<>();
+        for (Map.Entry<IMethodInstance, String> entry : unitOf.entrySet()) {
+            if (assignment.get(entry.getValue()) == shard) {
+                selected.add(entry.getKey());
+            }
+        }
+
+        long[] loads = TestSharder.loads(weights, assignment, total);
+        System.out.println("🔀 Shard " + shard + "/" + total + ": running " + selected.size() + " of "
+                + methods.size() + " tests, expected " + loads[shard] + " ms (all shards: "
+                + Arrays.toString(loads) + ")");
+        return selected;
+    }
+}
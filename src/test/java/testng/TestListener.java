@@ -1,10 +1,12 @@
 package testng;
 
+import org.openqa.selenium.WebDriver;
 import org.testng.ITestContext;
 import org.testng.ITestListener;
 import org.testng.ITestResult;
 import utils.ScreenshotUtils;
 import utils.AllureBugReporter;
+import utils.DriverManager;
 import io.qameta.allure.Allure;
 
 public class TestListener implements ITestListener {
@@ -24,40 +26,37 @@ public class TestListener implements ITestListener {
         System.out.println("❌ TEST FAILED: " + result.getMethod().getMethodName());
         System.out.println("Error: " + result.getThrowable().getMessage());
         
-        // Take screenshot on failure
-        Object testClass = result.getInstance();
-        if (testClass instanceof TestNGBase) {
-            TestNGBase base = (TestNGBase) testClass;
-            if (base.driver != null) {
-                String screenshotPath = ScreenshotUtils.takeScreenshotOnFailure(
-                    base.driver, 
-                    result.getMethod().getMethodName()
-                );
-                System.out.println("📸 Screenshot saved: " + screenshotPath);
-                
-                // Create automatic bug report with Allure
-                String errorMessage = result.getThrowable().getMessage();
-                String stackTrace = result.getThrowable().toString();
-                
-                // Add environment info to Allure
-                AllureBugReporter.addEnvironmentInfo(base.driver);
-                
-                // Report bug with appropriate severity based on exception type
-                String severity = determineSeverity(result.getThrowable());
-                
-                AllureBugReporter.createComprehensiveBugReport(
-                    result.getMethod().getMethodName(),
-                    severity,
-                    "Automated test failure: " + errorMessage,
-                    "Test should pass without errors",
-                    "Test failed with exception: " + errorMessage,
-                    "1. Run test: " + result.getMethod().getMethodName() + "\n2. Exception details:\n" + stackTrace,
-                    base.driver
-                );
-                
-                // Add stack trace as attachment
-                AllureBugReporter.addAttachment("Stack Trace", stackTrace);
-            }
+        // Take screenshot on failure, pakai browser milik thread test ini
+        if (DriverManager.hasDriver()) {
+            WebDriver driver = DriverManager.getDriver();
+            String screenshotPath = ScreenshotUtils.takeScreenshotOnFailure(
+                driver, 
+                result.getMethod().getMethodName()
+            );
+            System.out.println("📸 Screenshot saved: " + screenshotPath);
+            
+            // Create automatic bug report with Allure
+            String errorMessage = result.getThrowable().getMessage();
+            String stackTrace = result.getThrowable().toString();
+            
+            // Add environment info to Allure
+            AllureBugReporter.addEnvironmentInfo(driver);
+            
+            // Report bug with appropriate severity based on exception type
+            String severity = determineSeverity(result.getThrowable());
+            
+            AllureBugReporter.createComprehensiveBugReport(
+                result.getMethod().getMethodName(),
+                severity,
+                "Automated test failure: " + errorMessage,
+                "Test should pass without errors",
+                "Test failed with exception: " + errorMessage,
+                "1. Run test: " + result.getMethod().getMethodName() + "\n2. Exception details:\n" + stackTrace,
+                driver
+            );
+            
+            // Add stack trace as attachment
+            AllureBugReporter.addAttachment("Stack Trace", stackTrace);
         }
     }
 
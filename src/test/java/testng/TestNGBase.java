@@ -1,40 +1,64 @@
 package testng;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
+import org.testng.ITestResult;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
+import utils.ArtifactPipeline;
+import utils.DriverManager;
+import utils.PageLocality;
+import utils.PageNavigator;
+import utils.TestDurationHistory;
+import utils.TestTimings;
 
 public class TestNGBase {
-    protected WebDriver driver;
-    protected final String BASE_URL = "https://the-internet.herokuapp.com";
+    protected final String BASE_URL = PageNavigator.BASE_URL;
+
+    private static final String STARTUP_MILLIS = "startupMillis";
+    private static final String WORK_START_NANOS = "workStartNanos";
+    private static final String SETUP_START_MILLIS = "setupStartMillis";
+
+    /**
+     * Browser session milik thread test yang sedang jalan
+     */
+    protected WebDriver getDriver() {
+        return DriverManager.getDriver();
+    }
 
     @BeforeMethod
-    public void setUp() {
-        WebDriverManager.chromedriver().setup();
-        
-        // Setup Chrome options untuk stabilitas
-        ChromeOptions options = new ChromeOptions();
-        options.addArguments("--disable-blink-features=AutomationControlled");
-        options.addArguments("--disable-extensions");
-        options.addArguments("--no-sandbox");
-        options.addArguments("--disable-dev-shm-usage");
-        
-        driver = new ChromeDriver(options);
-        driver.manage().window().maximize();
-        
-        System.out.println("Opening The Internet Herokuapp...");
-        driver.get(BASE_URL + "/login");
-        System.out.println("URL loaded: " + driver.getCurrentUrl());
+    public void setUp(ITestResult result) {
+        ArtifactPipeline.endEvent();
+        result.setAttribute(SETUP_START_MILLIS, System.currentTimeMillis());
+        // Ambil browser dari pool (sebisa mungkin yang sudah di halaman awal test), hanya launch baru kalau pool kosong
+        String startUrl = PageLocality.startUrl(result.getTestClass().getRealClass(),
+                result.getMethod().getConstructorOrMethod().getMethod());
+        long startupStartNanos = System.nanoTime();
+        WebDriver driver = DriverManager.startDriver(startUrl);
+        result.setAttribute(STARTUP_MILLIS, (System.nanoTime() - startupStartNanos) / 1_000_000);
+        result.setAttribute(WORK_START_NANOS, System.nanoTime());
+
+        // Hanya test dengan @StartsOn yang dibuka halamannya di sini
+        if (startUrl != null) {
+            PageNavigator.open(driver, startUrl);
+        }
     }
 
     @AfterMethod
-    public void tearDown() {
-        if (driver != null) {
-            System.out.println("Closing browser...");
-            driver.quit();
+    public void tearDown(ITestResult result) {
+        if (DriverManager.hasDriver()) {
+            long workMillis = (System.nanoTime() - (Long) result.getAttribute(WORK_START_NANOS)) / 1_000_000;
+            System.out.println("Releasing browser...");
+            DriverManager.releaseDriver();
+            TestTimings.record(result.getMethod().getMethodName(),
+                    (Long) result.getAttribute(STARTUP_MILLIS), workMillis);
+        }
+        // Durasi total termasuk setup/teardown, dipakai untuk menjadwalkan run berikutnya
+        Long setupStartMillis = (Long) result.getAttribute(SETUP_START_MILLIS);
+        if (setupStartMillis != null) {
+            long finishMillis = System.currentTimeMillis();
+            String testId = DurationScheduleListener.testId(result.getMethod());
+            TestDurationHistory.record(testId, finishMillis - setupStartMillis);
+            DurationScheduleListener.recordFinish(result.getTestContext().getName(), testId, finishMillis);
         }
     }
 }
@@ -2,14 +2,19 @@ package tests;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
+import org.openqa.selenium.WebDriver;
 import pages.AlertsPage;
+import utils.DialogMode;
+import utils.StartsOn;
+import utils.SyntheticDialogs;
 import static org.junit.jupiter.api.Assertions.*;
 
+@StartsOn("/javascript_alerts")
 public class AlertsTest extends BaseTest {
 
     @Test
     @DisplayName("Test JavaScript Alert - Accept")
-    public void testJavaScriptAlert() {
+    public void testJavaScriptAlert(WebDriver driver) {
         AlertsPage alertsPage = new AlertsPage(driver);
         alertsPage.navigateToAlerts();
         
@@ -35,7 +40,7 @@ public class AlertsTest extends BaseTest {
 
     @Test
     @DisplayName("Test JavaScript Confirm - Accept")
-    public void testJavaScriptConfirmAccept() {
+    public void testJavaScriptConfirmAccept(WebDriver driver) {
         AlertsPage alertsPage = new AlertsPage(driver);
         alertsPage.navigateToAlerts();
         
@@ -61,7 +66,7 @@ public class AlertsTest extends BaseTest {
 
     @Test
     @DisplayName("Test JavaScript Confirm - Dismiss")
-    public void testJavaScriptConfirmDismiss() {
+    public void testJavaScriptConfirmDismiss(WebDriver driver) {
         AlertsPage alertsPage = new AlertsPage(driver);
         alertsPage.navigateToAlerts();
         
@@ -73,6 +78,7 @@ public class AlertsTest extends BaseTest {
         
         // Dismiss the confirm
         alertsPage.dismissAlert();
+        assertTrue(alertsPage.isAlertAbsent(), "No dialog should remain after dismiss");
         
         // Verify result text
         String resultText = alertsPage.getResultText();
@@ -84,7 +90,7 @@ public class AlertsTest extends BaseTest {
 
     @Test
     @DisplayName("Test JavaScript Prompt with Text Input")
-    public void testJavaScriptPromptWithText() {
+    public void testJavaScriptPromptWithText(WebDriver driver) {
         AlertsPage alertsPage = new AlertsPage(driver);
         alertsPage.navigateToAlerts();
         
@@ -112,7 +118,7 @@ public class AlertsTest extends BaseTest {
 
     @Test
     @DisplayName("Test JavaScript Prompt - Dismiss")
-    public void testJavaScriptPromptDismiss() {
+    public void testJavaScriptPromptDismiss(WebDriver driver) {
         AlertsPage alertsPage = new AlertsPage(driver);
         alertsPage.navigateToAlerts();
         
@@ -132,4 +138,30 @@ public class AlertsTest extends BaseTest {
         System.out.println("✅ JavaScript Prompt Dismiss test passed!");
         System.out.println("Result: " + resultText);
     }
+
+    @Test
+    @DisplayName("Test JavaScript Dialogs - Synthetic Mode")
+    public void testSyntheticDialogs(WebDriver driver) {
+        // Dialog di-override di halaman; test native di atas tetap memakai dialog browser asli
+        AlertsPage alertsPage = new AlertsPage(driver).setDialogMode(DialogMode.SYNTHETIC);
+        alertsPage.navigateToAlerts();
+        
+        SyntheticDialogs.Dialog alert = alertsPage.handleJSAlert();
+        assertEquals("I am a JS Alert", alert.getMessage(), "Alert text should match expected");
+        assertEquals("You successfully clicked an alert", alertsPage.getResultText(), "Result text should indicate success");
+        
+        SyntheticDialogs.Dialog confirm = alertsPage.handleJSConfirm(false);
+        assertEquals("I am a JS Confirm", confirm.getMessage(), "Confirm text should match expected");
+        assertEquals("You clicked: Cancel", alertsPage.getResultText(), "Result should indicate Cancel was clicked");
+        
+        String inputText = "Hello Automation Testing!";
+        SyntheticDialogs.Dialog prompt = alertsPage.handleJSPrompt(inputText);
+        assertEquals("I am a JS prompt", prompt.getMessage(), "Prompt text should match expected");
+        assertEquals("You entered: " + inputText, alertsPage.getResultText(), "Result should contain entered text");
+        
+        assertEquals(3, alertsPage.getDialogCalls().size(), "Every dialog should be recorded");
+        
+        System.out.println("✅ Synthetic dialogs test passed!");
+        System.out.println("Dialogs: " + alertsPage.getDialogCalls());
+    }
 }
@@ -0,0 +1,18 @@
+package tests;
+
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestPlan;
+import utils.ScreenshotTranscoder;
+import utils.ScreenshotWriter;
+
+/**
+ * Waits for queued screenshots when the JUnit test plan finishes
+ */
+public class ArtifactFlushListener implements TestExecutionListener {
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        ScreenshotTranscoder.flush();
+        ScreenshotWriter.flush();
+    }
+}
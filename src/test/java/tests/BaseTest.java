@@ -1,40 +1,28 @@
 package tests;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
-import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.TestInfo;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
+import utils.PageLocality;
+import utils.PageNavigator;
 
+/**
+ * Base class JUnit tests - WebDriver di-inject per test oleh DriverExtension,
+ * jadi test bisa jalan parallel tanpa berbagi field driver
+ */
+@ExtendWith(DriverExtension.class)
 public class BaseTest {
-    protected WebDriver driver;
-    protected final String BASE_URL = "https://the-internet.herokuapp.com";
+    protected final String BASE_URL = PageNavigator.BASE_URL;
 
     @BeforeEach
-    public void setUp() {
-        WebDriverManager.chromedriver().setup();
-        
-        // Setup Chrome options untuk stabilitas
-        ChromeOptions options = new ChromeOptions();
-        options.addArguments("--disable-blink-features=AutomationControlled");
-        options.addArguments("--disable-extensions");
-        options.addArguments("--no-sandbox");
-        options.addArguments("--disable-dev-shm-usage");
-        
-        driver = new ChromeDriver(options);
-        driver.manage().window().maximize();
-        
-        System.out.println("Opening The Internet Herokuapp...");
-        driver.get(BASE_URL + "/login");
-        System.out.println("URL loaded: " + driver.getCurrentUrl());
-    }
-
-    @AfterEach
-    public void tearDown() {
-        if (driver != null) {
-            System.out.println("Closing browser...");
-            driver.quit();
+    public void setUp(WebDriver driver, TestInfo testInfo) {
+        // Halaman awal dari @StartsOn; tidak dibuka ulang kalau session sudah di sana
+        String startUrl = testInfo.getTestMethod()
+                .map(method -> PageLocality.startUrl(getClass(), method))
+                .orElse(null);
+        if (startUrl != null) {
+            PageNavigator.open(driver, startUrl);
         }
     }
 }
@@ -2,21 +2,26 @@ package tests;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
+import org.openqa.selenium.WebDriver;
 import pages.LoginPage;
 import pages.CheckboxPage;
 import pages.DropdownPage;
+import utils.AllureBugReporter;
+import utils.ArtifactPipeline;
 import utils.BugReporter;
+import utils.ScreenshotUtils;
+import utils.StartsOn;
 import static org.junit.jupiter.api.Assertions.*;
 
 public class BugDemoTest extends BaseTest {
 
     @Test
     @DisplayName("Demo: Manual Bug Report - Critical Bug")
-    public void testManualCriticalBugReport() {
+    public void testManualCriticalBugReport(WebDriver driver) {
         LoginPage loginPage = new LoginPage(driver);
         
-        // Simulate a critical bug scenario
-        loginPage.login("tomsmith", "SuperSecretPassword!");
+        // Simulate a critical bug scenario (login hanya prasyarat, pakai session cache)
+        loginPage.ensureLoggedIn("tomsmith", "SuperSecretPassword!");
         
         // Manual bug report for demonstration
         BugReporter.reportCriticalBug(
@@ -33,7 +38,8 @@ public class BugDemoTest extends BaseTest {
 
     @Test
     @DisplayName("Demo: Manual Bug Report - High Priority Bug")
-    public void testManualHighBugReport() {
+    @StartsOn("/checkboxes")
+    public void testManualHighBugReport(WebDriver driver) {
         CheckboxPage checkboxPage = new CheckboxPage(driver);
         checkboxPage.navigateToCheckboxes();
         
@@ -52,7 +58,8 @@ public class BugDemoTest extends BaseTest {
 
     @Test
     @DisplayName("Demo: Manual Bug Report - Medium Priority Bug")
-    public void testManualMediumBugReport() {
+    @StartsOn("/dropdown")
+    public void testManualMediumBugReport(WebDriver driver) {
         DropdownPage dropdownPage = new DropdownPage(driver);
         dropdownPage.navigateToDropdown();
         
@@ -71,7 +78,7 @@ public class BugDemoTest extends BaseTest {
 
     @Test
     @DisplayName("Demo: Manual Bug Report - Low Priority Bug")
-    public void testManualLowBugReport() {
+    public void testManualLowBugReport(WebDriver driver) {
         // Manual bug report for cosmetic issue
         BugReporter.reportLowBug(
             "Page Title Formatting",
@@ -87,7 +94,8 @@ public class BugDemoTest extends BaseTest {
 
     @Test
     @DisplayName("Demo: Bug Reporting System (Configurable Demo)")
-    public void testIntentionalFailureForBugReport() {
+    @StartsOn("/login")
+    public void testIntentionalFailureForBugReport(WebDriver driver) {
         LoginPage loginPage = new LoginPage(driver);
         
         // Check if we should demonstrate failure or success
@@ -125,34 +133,33 @@ public class BugDemoTest extends BaseTest {
 
     @Test
     @DisplayName("Demo: Complex Scenario Bug Report")
-    public void testComplexScenarioBugReport() {
+    public void testComplexScenarioBugReport(WebDriver driver) {
         LoginPage loginPage = new LoginPage(driver);
         CheckboxPage checkboxPage = new CheckboxPage(driver);
         
-        // Complex scenario with multiple steps
-        loginPage.login("tomsmith", "SuperSecretPassword!");
+        // Complex scenario with multiple steps; ensureLoggedIn gagal dengan exception kalau login tidak berhasil
+        loginPage.ensureLoggedIn("tomsmith", "SuperSecretPassword!");
         
-        if (loginPage.isLoginSuccessful()) {
-            // Navigate to checkboxes after login
-            checkboxPage.navigateToCheckboxes();
-            
-            // Report a bug about post-login navigation
-            BugReporter.reportMediumBug(
-                "Post-Login Navigation Issue",
-                "After successful login, navigating to other pages loses session",
-                "User should remain logged in when navigating to other pages",
-                "User session is lost when navigating from secure area to checkboxes page",
-                "1. Login with valid credentials\n2. Verify login success\n3. Navigate to checkboxes page\n4. Observe session is lost",
-                driver
-            );
-        }
+        // Navigate to checkboxes after login
+        checkboxPage.navigateToCheckboxes();
+        
+        // Report a bug about post-login navigation
+        BugReporter.reportMediumBug(
+            "Post-Login Navigation Issue",
+            "After successful login, navigating to other pages loses session",
+            "User should remain logged in when navigating to other pages",
+            "User session is lost when navigating from secure area to checkboxes page",
+            "1. Login with valid credentials\n2. Verify login success\n3. Navigate to checkboxes page\n4. Observe session is lost",
+            driver
+        );
         
         System.out.println("✅ Complex scenario bug report demo completed!");
     }
 
     @Test
     @DisplayName("Demo: Performance Issue Bug Report")
-    public void testPerformanceBugReport() {
+    @StartsOn("/login")
+    public void testPerformanceBugReport(WebDriver driver) {
         long startTime = System.currentTimeMillis();
         
         LoginPage loginPage = new LoginPage(driver);
@@ -175,4 +182,36 @@ public class BugDemoTest extends BaseTest {
         
         System.out.println("✅ Performance bug report demo completed! Login took: " + duration + "ms");
     }
+
+    @Test
+    @DisplayName("Demo: One Screenshot per Failure Event")
+    @StartsOn("/checkboxes")
+    public void testSingleCapturePerFailure(WebDriver driver) {
+        int before = ArtifactPipeline.getCaptureCount(driver);
+        
+        // Kegagalan: listener, @AfterMethod dan bug reporter minta screenshot, browser hanya capture sekali
+        String screenshotPath = ScreenshotUtils.takeScreenshotOnFailure(driver, "testSingleCapturePerFailure");
+        AllureBugReporter.reportHighBug(
+            "Single Capture Demo",
+            "Several reporters ask for a screenshot of the same failure",
+            "One capture shared by Allure, disk and the bug report",
+            "One capture shared by Allure, disk and the bug report",
+            "1. Fail a test\n2. Let every reporter request a screenshot\n3. Count browser captures",
+            driver
+        );
+        BugReporter.reportLowBug(
+            "Single Capture Demo",
+            "Bug report reuses the failure screenshot",
+            "Bug report points at the failure screenshot",
+            "Bug report points at the failure screenshot",
+            "1. Fail a test\n2. Report a bug\n3. Compare screenshot paths",
+            driver
+        );
+        ArtifactPipeline.endEvent();
+        
+        assertEquals(before + 1, ArtifactPipeline.getCaptureCount(driver), "Failure should be captured exactly once");
+        assertNotNull(screenshotPath, "Failure screenshot should be saved to disk");
+        
+        System.out.println("✅ Single capture demo completed! Screenshot: " + screenshotPath);
+    }
 }
@@ -2,14 +2,17 @@ package tests;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
+import org.openqa.selenium.WebDriver;
 import pages.CheckboxPage;
+import utils.StartsOn;
 import static org.junit.jupiter.api.Assertions.*;
 
+@StartsOn("/checkboxes")
 public class CheckboxTest extends BaseTest {
 
     @Test
     @DisplayName("Test Checkbox Functionality - Select and Deselect")
-    public void testCheckboxSelectDeselect() {
+    public void testCheckboxSelectDeselect(WebDriver driver) {
         CheckboxPage checkboxPage = new CheckboxPage(driver);
         checkboxPage.navigateToCheckboxes();
         
@@ -31,7 +34,7 @@ public class CheckboxTest extends BaseTest {
 
     @Test
     @DisplayName("Test Select All Checkboxes")
-    public void testSelectAllCheckboxes() {
+    public void testSelectAllCheckboxes(WebDriver driver) {
         CheckboxPage checkboxPage = new CheckboxPage(driver);
         checkboxPage.navigateToCheckboxes();
         
@@ -44,7 +47,7 @@ public class CheckboxTest extends BaseTest {
 
     @Test
     @DisplayName("Test Unselect All Checkboxes")
-    public void testUnselectAllCheckboxes() {
+    public void testUnselectAllCheckboxes(WebDriver driver) {
         CheckboxPage checkboxPage = new CheckboxPage(driver);
         checkboxPage.navigateToCheckboxes();
         
@@ -62,7 +65,7 @@ public class CheckboxTest extends BaseTest {
 
     @Test
     @DisplayName("Test Checkbox Toggle Multiple Times")
-    public void testCheckboxToggle() {
+    public void testCheckboxToggle(WebDriver driver) {
         CheckboxPage checkboxPage = new CheckboxPage(driver);
         checkboxPage.navigateToCheckboxes();
         
@@ -2,13 +2,13 @@ package tests;
 
 import io.qameta.allure.*;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
 import pages.*;
 import utils.ScreenshotUtils;
 import utils.AllureBugReporter;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
-import io.github.bonigarcia.wdm.WebDriverManager;
 
 /**
  * Comprehensive Test Suite for The Internet Herokuapp (JUnit 5)
@@ -19,6 +19,8 @@ import io.github.bonigarcia.wdm.WebDriverManager;
 @Epic("The Internet Herokuapp Automation")
 @Feature("Comprehensive UI Testing - JUnit")
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@ExtendWith(DriverExtension.class)
+@Execution(ExecutionMode.SAME_THREAD) // Urutan @Order tetap, class lain tetap jalan parallel
 public class ComprehensiveTest {
     
     private static WebDriver driver;
@@ -30,16 +32,9 @@ public class ComprehensiveTest {
     
     @BeforeAll
     @Step("Setup WebDriver and initialize pages")
-    static void setUp() {
-        WebDriverManager.chromedriver().setup();
-        
-        ChromeOptions options = new ChromeOptions();
-        options.addArguments("--disable-notifications");
-        options.addArguments("--disable-popup-blocking");
-        options.addArguments("--start-maximized");
-        
-        driver = new ChromeDriver(options);
-        driver.manage().window().maximize();
+    static void setUp(WebDriver sharedDriver) {
+        // Satu session untuk seluruh class, dikembalikan ke pool oleh DriverExtension setelah class selesai
+        driver = sharedDriver;
         
         // Initialize page objects
         dropdownPage = new DropdownPage(driver);
@@ -49,14 +44,6 @@ public class ComprehensiveTest {
         hoverPage = new HoverPage(driver);
     }
     
-    @AfterAll
-    @Step("Close WebDriver")
-    static void tearDown() {
-        if (driver != null) {
-            driver.quit();
-        }
-    }
-    
     @AfterEach
     void afterEach(TestInfo testInfo) {
         // Take screenshot on failure (JUnit 5 doesn't have built-in failure detection like TestNG)
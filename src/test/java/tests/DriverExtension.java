@@ -0,0 +1,118 @@
+package tests;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+import org.openqa.selenium.WebDriver;
+import utils.ArtifactPipeline;
+import utils.DriverManager;
+import utils.DriverPool;
+import utils.PageLocality;
+import utils.TestDurationHistory;
+import utils.TestTimings;
+
+/**
+ * JUnit 5 extension that injects an isolated WebDriver into test, @BeforeEach and @AfterEach
+ * methods. Every test gets its own pooled session; a class that asks for a WebDriver in a
+ * static @BeforeAll method shares one session across its tests instead.
+ * The session is bound to the running thread through DriverManager for the duration of each test,
+ * so it works with junit.jupiter.execution.parallel at method and class level.
+ */
+public class DriverExtension implements BeforeAllCallback, BeforeEachCallback, AfterEachCallback, ParameterResolver {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(DriverExtension.class);
+    private static final String SESSION = "session";
+    private static final String WORK_START_NANOS = "workStartNanos";
+
+    /**
+     * Pooled session that goes back to the pool when the owning context (test or class) ends
+     */
+    private static class DriverSession implements ExtensionContext.Store.CloseableResource {
+        private final WebDriver driver;
+        private final long startupMillis;
+
+        DriverSession(String preferredUrl) {
+            long startNanos = System.nanoTime();
+            this.driver = DriverPool.acquire(preferredUrl);
+            this.startupMillis = (System.nanoTime() - startNanos) / 1_000_000;
+        }
+
+        @Override
+        public void close() {
+            DriverPool.release(driver);
+        }
+    }
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        // Jumlah session mengikuti setting parallel JUnit (default 1 kalau tidak parallel)
+        int sessions = 1;
+        boolean parallel = context.getConfigurationParameter("junit.jupiter.execution.parallel.enabled")
+                .map(Boolean::parseBoolean)
+                .orElse(false);
+        if (parallel) {
+            sessions = context.getConfigurationParameter("junit.jupiter.execution.parallel.config.fixed.parallelism")
+                    .map(Integer::parseInt)
+                    .orElse(Runtime.getRuntime().availableProcessors());
+        }
+        DriverPool.prewarm(sessions);
+    }
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        ArtifactPipeline.endEvent();
+        // Session level class (dari @BeforeAll) dipakai kalau ada, kalau tidak ambil baru untuk test ini
+        DriverSession session = getOrCreateSession(context);
+        DriverManager.setDriver(session.driver);
+        context.getStore(NAMESPACE).put(WORK_START_NANOS, System.nanoTime());
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        DriverManager.unbind();
+        ExtensionContext.Store store = context.getStore(NAMESPACE);
+        Long workStartNanos = store.get(WORK_START_NANOS, Long.class);
+        DriverSession session = store.get(SESSION, DriverSession.class);
+        if (workStartNanos != null && session != null) {
+            // Startup hanya dihitung untuk session milik test ini sendiri, bukan session shared dari class
+            boolean ownSession = isOwnedBy(context, session);
+            long workMillis = (System.nanoTime() - workStartNanos) / 1_000_000;
+            long startupMillis = ownSession ? session.startupMillis : 0;
+            TestTimings.record(context.getRequiredTestMethod().getName(), startupMillis, workMillis);
+            TestDurationHistory.record(TestDurationHistory.testId(context.getRequiredTestClass(),
+                    context.getRequiredTestMethod().getName()), startupMillis + workMillis);
+        }
+    }
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return parameterContext.getParameter().getType() == WebDriver.class;
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return getOrCreateSession(extensionContext).driver;
+    }
+
+    private DriverSession getOrCreateSession(ExtensionContext context) {
+        // Store lookup falls back to the parent (class) store before creating a new session
+        // Session yang sudah di halaman awal test (@StartsOn) lebih diutamakan
+        return context.getStore(NAMESPACE).getOrComputeIfAbsent(SESSION,
+                key -> new DriverSession(startUrl(context)), DriverSession.class);
+    }
+
+    private static String startUrl(ExtensionContext context) {
+        return context.getTestMethod()
+                .map(method -> PageLocality.startUrl(context.getRequiredTestClass(), method))
+                .orElse(null);
+    }
+
+    private boolean isOwnedBy(ExtensionContext context, DriverSession session) {
+        return context.getParent()
+                .map(parent -> parent.getStore(NAMESPACE).get(SESSION, DriverSession.class) != session)
+                .orElse(true);
+    }
+}
@@ -0,0 +1,72 @@
+package tests;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.WebDriver;
+import utils.DriverManager;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * DriverManager ownership rules - browser-free, sessions are stub WebDrivers
+ */
+public class DriverManagerTest {
+
+    @AfterEach
+    public void tearDown() {
+        DriverManager.unbind();
+    }
+
+    @Test
+    @DisplayName("Rejected session stays free for other threads")
+    public void testRejectedSessionIsNotOwned() throws Exception {
+        WebDriver first = stubDriver();
+        WebDriver second = stubDriver();
+        int activeBefore = DriverManager.getActiveSessionCount();
+
+        DriverManager.setDriver(first);
+        assertThrows(IllegalStateException.class, () -> DriverManager.setDriver(second),
+                "A thread must not bind a second session");
+        assertSame(first, DriverManager.getDriver(), "The first session should still be bound");
+        assertEquals(activeBefore + 1, DriverManager.getActiveSessionCount(), "The rejected session must not be registered");
+
+        // Thread lain harus tetap bisa memakai session yang tadi ditolak
+        WebDriver bound = CompletableFuture.supplyAsync(() -> {
+            DriverManager.setDriver(second);
+            return DriverManager.unbind();
+        }).get();
+        assertSame(second, bound, "Another thread should be able to bind the rejected session");
+    }
+
+    @Test
+    @DisplayName("Session owned by another thread is refused")
+    public void testSessionOwnedByAnotherThread() throws Exception {
+        WebDriver driver = stubDriver();
+        DriverManager.setDriver(driver);
+
+        Throwable error = CompletableFuture.runAsync(() -> DriverManager.setDriver(driver))
+                .handle((ignored, e) -> e).get();
+        assertNotNull(error, "Binding a session owned by another thread should fail");
+        assertTrue(error.getCause() instanceof IllegalStateException, "Should fail with IllegalStateException");
+    }
+
+    private static WebDriver stubDriver() {
+        return (WebDriver) Proxy.newProxyInstance(WebDriver.class.getClassLoader(), new Class<?>[]{WebDriver.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        case "toString":
+                            return "StubDriver@" + Integer.toHexString(System.identityHashCode(proxy));
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+}
@@ -2,15 +2,19 @@ package tests;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
+import org.openqa.selenium.WebDriver;
 import pages.DropdownPage;
 import static org.junit.jupiter.api.Assertions.*;
 import java.util.List;
+import utils.InteractionMode;
+import utils.StartsOn;
 
+@StartsOn("/dropdown")
 public class DropdownTest extends BaseTest {
 
     @Test
     @DisplayName("Test Dropdown Selection by Value")
-    public void testDropdownSelectionByValue() {
+    public void testDropdownSelectionByValue(WebDriver driver) {
         DropdownPage dropdownPage = new DropdownPage(driver);
         dropdownPage.navigateToDropdown();
         
@@ -29,7 +33,7 @@ public class DropdownTest extends BaseTest {
 
     @Test
     @DisplayName("Test Dropdown Selection by Visible Text")
-    public void testDropdownSelectionByText() {
+    public void testDropdownSelectionByText(WebDriver driver) {
         DropdownPage dropdownPage = new DropdownPage(driver);
         dropdownPage.navigateToDropdown();
         
@@ -45,7 +49,7 @@ public class DropdownTest extends BaseTest {
 
     @Test
     @DisplayName("Test Dropdown Selection by Index")
-    public void testDropdownSelectionByIndex() {
+    public void testDropdownSelectionByIndex(WebDriver driver) {
         DropdownPage dropdownPage = new DropdownPage(driver);
         dropdownPage.navigateToDropdown();
         
@@ -61,7 +65,7 @@ public class DropdownTest extends BaseTest {
 
     @Test
     @DisplayName("Test Dropdown Options Availability")
-    public void testDropdownOptionsAvailability() {
+    public void testDropdownOptionsAvailability(WebDriver driver) {
         DropdownPage dropdownPage = new DropdownPage(driver);
         dropdownPage.navigateToDropdown();
         
@@ -81,4 +85,20 @@ public class DropdownTest extends BaseTest {
         System.out.println("✅ Dropdown options availability test passed!");
         System.out.println("Available options: " + allOptions);
     }
+
+    @Test
+    @DisplayName("Test Dropdown Selection in Fast Mode")
+    public void testDropdownSelectionFastMode(WebDriver driver) {
+        // Default tetap Select bawaan Selenium; mode fast harus dipilih sendiri
+        DropdownPage dropdownPage = new DropdownPage(driver).setInteractionMode(InteractionMode.FAST);
+        dropdownPage.navigateToDropdown();
+        
+        dropdownPage.selectByVisibleText("Option 2");
+        assertEquals("2", dropdownPage.getSelectedOptionValue(), "Selected value should be '2'");
+        
+        dropdownPage.selectByIndex(1);
+        assertEquals("Option 1", dropdownPage.getSelectedOptionText(), "Selected text should be 'Option 1'");
+        
+        System.out.println("✅ Dropdown fast mode test passed!");
+    }
 }
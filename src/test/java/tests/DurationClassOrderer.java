@@ -0,0 +1,34 @@
+package tests;
+
+import org.junit.jupiter.api.ClassDescriptor;
+import org.junit.jupiter.api.ClassOrderer;
+import org.junit.jupiter.api.ClassOrdererContext;
+import org.junit.jupiter.api.Test;
+import utils.TestDurationHistory;
+
+import java.lang.reflect.Method;
+import java.util.Comparator;
+
+/**
+ * Starts the test classes with the largest total expected duration first
+ */
+public class DurationClassOrderer implements ClassOrderer {
+
+    @Override
+    public void orderClasses(ClassOrdererContext context) {
+        context.getClassDescriptors().sort(Comparator
+                .comparingLong((ClassDescriptor descriptor) -> expectedMillis(descriptor.getTestClass()))
+                .reversed()
+                .thenComparing(descriptor -> descriptor.getTestClass().getName()));
+    }
+
+    private static long expectedMillis(Class<?> testClass) {
+        long total = 0;
+        for (Method method : testClass.getMethods()) {
+            if (method.isAnnotationPresent(Test.class)) {
+                total += TestDurationHistory.estimate(TestDurationHistory.testId(testClass, method.getName()));
+            }
+        }
+        return total;
+    }
+}
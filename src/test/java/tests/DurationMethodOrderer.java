@@ -0,0 +1,35 @@
+package tests;
+
+import org.junit.jupiter.api.MethodDescriptor;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.MethodOrdererContext;
+import utils.PageLocality;
+import utils.TestDurationHistory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Runs the slowest test methods of a class first, based on TestDurationHistory, so with
+ * parallel execution the long tests are not left for the end. Tests with the same @StartsOn
+ * page are then kept together so they can reuse a session that is already on it.
+ * Classes with their own @TestMethodOrder (like ComprehensiveTest) keep it
+ */
+public class DurationMethodOrderer implements MethodOrderer {
+
+    @Override
+    public void orderMethods(MethodOrdererContext context) {
+        Class<?> testClass = context.getTestClass();
+        List<? extends MethodDescriptor> methods = context.getMethodDescriptors();
+        methods.sort(Comparator
+                .comparingLong((MethodDescriptor method) ->
+                        TestDurationHistory.estimate(TestDurationHistory.testId(testClass, method.getMethod().getName())))
+                .reversed()
+                .thenComparing(method -> method.getMethod().getName()));
+
+        List<MethodDescriptor> grouped = PageLocality.groupByStartPage(new ArrayList<>(methods),
+                method -> PageLocality.startUrl(testClass, method.getMethod()));
+        methods.sort(Comparator.comparingInt(grouped::indexOf));
+    }
+}
@@ -0,0 +1,169 @@
+package tests;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.testng.IMethodInstance;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+import org.testng.internal.ConstructorOrMethod;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+import testng.DurationScheduleListener;
+import testng.PageLocalityInterceptor;
+import utils.DurationScheduler;
+import utils.StartsOn;
+import utils.TestDurationHistory;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test ordering of the TestNG scheduler and page locality interceptor - browser-free,
+ * TestNG methods and context are stubs
+ */
+public class DurationSchedulerTest {
+
+    @Test
+    @DisplayName("Longest-first plan balances the workers")
+    public void testPlanLongestFirst() {
+        Map<String, Long> expected = new LinkedHashMap<>();
+        expected.put("a", 10L);
+        expected.put("b", 40L);
+        expected.put("c", 30L);
+        expected.put("d", 20L);
+
+        DurationScheduler.Plan plan = DurationScheduler.plan(expected, 2);
+        assertEquals(List.of("b", "c", "d", "a"), plan.getOrder(), "Tests should be queued longest first");
+        assertEquals(50, plan.getMakespan(), "b+a and c+d should both finish at 50 ms");
+        assertEquals(plan.getSlot("b").getWorker(), plan.getSlot("a").getWorker(), "a should follow b on the same worker");
+        assertEquals(30, plan.getSlot("d").getPredictedStart(), "d should start when c finishes");
+    }
+
+    @Test
+    @DisplayName("Page groups are weighted by their total duration")
+    public void testPlanGroups() {
+        Map<String, Long> expected = new LinkedHashMap<>();
+        expected.put("login1", 50L);
+        expected.put("hover1", 30L);
+        expected.put("hover2", 30L);
+        expected.put("hover3", 30L);
+        Map<String, String> pages = Map.of("login1", "/login", "hover1", "/hovers", "hover2", "/hovers", "hover3", "/hovers");
+
+        DurationScheduler.Plan plan = DurationScheduler.planGroups(expected, pages::get, 2);
+        assertEquals(List.of("hover1", "hover2", "hover3", "login1"), plan.getOrder(),
+                "The /hovers group (90 ms) should go before /login (50 ms), tests kept together");
+        assertEquals(80, plan.getMakespan());
+        assertEquals(plan.getMakespan(), DurationScheduler.simulate(plan.getOrder(), expected, 2).getMakespan(),
+                "The plan should be the simulation of its own order");
+    }
+
+    @Test
+    @DisplayName("Order chosen by the scheduler is the order that runs")
+    public void testChainedInterceptorOrder() throws Exception {
+        Map<String, Long> durations = new LinkedHashMap<>();
+        durations.put(id("loginSlow"), 500L);
+        durations.put(id("loginFast"), 100L);
+        durations.put(id("hoverA"), 300L);
+        durations.put(id("hoverB"), 250L);
+        durations.put(id("dropdown"), 400L);
+
+        List<IMethodInstance> methods = new ArrayList<>();
+        for (String name : List.of("hoverA", "dropdown", "loginFast", "hoverB", "loginSlow")) {
+            methods.add(instance(PagedTests.class.getMethod(name)));
+        }
+        ITestContext context = context(2);
+
+        List<IMethodInstance> scheduled = new DurationScheduleListener(durations::get).intercept(methods, context);
+        List<IMethodInstance> chained = new PageLocalityInterceptor().intercept(scheduled, context);
+
+        List<String> order = names(chained);
+        assertEquals(List.of("loginSlow", "loginFast", "hoverA", "hoverB", "dropdown"), order,
+                "Page groups heaviest first (login 600, hover 550, dropdown 400), longest first inside a group");
+        assertEquals(names(scheduled), order, "Page locality must not reorder the scheduled list");
+        for (int i = 0; i < chained.size(); i++) {
+            assertEquals(i, chained.get(i).getMethod().getPriority(), "Priority should match the final position");
+        }
+    }
+
+    @StartsOn("/hovers")
+    public static class PagedTests {
+        @StartsOn("/login")
+        public void loginSlow() { }
+
+        @StartsOn("/login")
+        public void loginFast() { }
+
+        public void hoverA() { }
+
+        public void hoverB() { }
+
+        @StartsOn("/dropdown")
+        public void dropdown() { }
+    }
+
+    private static String id(String methodName) {
+        return TestDurationHistory.testId(PagedTests.class, methodName);
+    }
+
+    private static List<String> names(List<IMethodInstance> methods) {
+        return methods.stream().map(instance -> instance.getMethod().getMethodName()).collect(Collectors.toList());
+    }
+
+    private static IMethodInstance instance(Method javaMethod) {
+        int[] priority = {0};
+        ITestNGMethod method = stub(ITestNGMethod.class, (name, args) -> {
+            switch (name) {
+                case "getRealClass": return PagedTests.class;
+                case "getMethodName": return javaMethod.getName();
+                case "getConstructorOrMethod": return new ConstructorOrMethod(javaMethod);
+                case "getMethodsDependedUpon":
+                case "getGroupsDependedUpon": return new String[0];
+                case "getPriority": return priority[0];
+                case "setPriority": priority[0] = (Integer) args[0]; return null;
+                default: throw new UnsupportedOperationException(name);
+            }
+        });
+        return stub(IMethodInstance.class, (name, args) -> {
+            if (name.equals("getMethod")) {
+                return method;
+            }
+            throw new UnsupportedOperationException(name);
+        });
+    }
+
+    private static ITestContext context(int threads) {
+        XmlTest xmlTest = new XmlTest(new XmlSuite());
+        xmlTest.setParallel(XmlSuite.ParallelMode.METHODS);
+        xmlTest.setThreadCount(threads);
+        return stub(ITestContext.class, (name, args) -> {
+            switch (name) {
+                case "getCurrentXmlTest": return xmlTest;
+                case "getName": return "scheduler-unit";
+                default: throw new UnsupportedOperationException(name);
+            }
+        });
+    }
+
+    private interface Answer {
+        Object answer(String method, Object[] args);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<T> type, Answer answer) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "hashCode": return System.identityHashCode(proxy);
+                case "equals": return proxy == args[0];
+                case "toString": return type.getSimpleName() + "@" + Integer.toHexString(System.identityHashCode(proxy));
+                default: return answer.answer(method.getName(), args);
+            }
+        });
+    }
+}
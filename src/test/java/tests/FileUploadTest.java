@@ -2,14 +2,17 @@ package tests;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
+import org.openqa.selenium.WebDriver;
 import pages.FileUploadPage;
+import utils.StartsOn;
 import static org.junit.jupiter.api.Assertions.*;
 
+@StartsOn("/upload")
 public class FileUploadTest extends BaseTest {
 
     @Test
     @DisplayName("Test File Upload with Text File")
-    public void testTextFileUpload() {
+    public void testTextFileUpload(WebDriver driver) {
         FileUploadPage fileUploadPage = new FileUploadPage(driver);
         fileUploadPage.navigateToFileUpload();
         
@@ -33,7 +36,7 @@ public class FileUploadTest extends BaseTest {
 
     @Test
     @DisplayName("Test File Upload with Different File Types")
-    public void testDifferentFileTypesUpload() {
+    public void testDifferentFileTypesUpload(WebDriver driver) {
         FileUploadPage fileUploadPage = new FileUploadPage(driver);
         
         // Test CSV file upload
@@ -59,7 +62,7 @@ public class FileUploadTest extends BaseTest {
 
     @Test
     @DisplayName("Test File Upload with Large File")
-    public void testLargeFileUpload() {
+    public void testLargeFileUpload(WebDriver driver) {
         FileUploadPage fileUploadPage = new FileUploadPage(driver);
         fileUploadPage.navigateToFileUpload();
         
@@ -78,7 +81,7 @@ public class FileUploadTest extends BaseTest {
 
     @Test
     @DisplayName("Test File Selection Without Upload")
-    public void testFileSelectionOnly() {
+    public void testFileSelectionOnly(WebDriver driver) {
         FileUploadPage fileUploadPage = new FileUploadPage(driver);
         fileUploadPage.navigateToFileUpload();
         
@@ -2,14 +2,17 @@ package tests;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
+import org.openqa.selenium.WebDriver;
 import pages.HoverPage;
+import utils.StartsOn;
 import static org.junit.jupiter.api.Assertions.*;
 
+@StartsOn("/hovers")
 public class HoverTest extends BaseTest {
 
     @Test
     @DisplayName("Test Hover Effects on Images")
-    public void testHoverEffects() {
+    public void testHoverEffects(WebDriver driver) {
         HoverPage hoverPage = new HoverPage(driver);
         hoverPage.navigateToHovers();
         
@@ -40,7 +43,7 @@ public class HoverTest extends BaseTest {
 
     @Test
     @DisplayName("Test Click User Profile Links")
-    public void testUserProfileLinks() {
+    public void testUserProfileLinks(WebDriver driver) {
         HoverPage hoverPage = new HoverPage(driver);
         hoverPage.navigateToHovers();
         
@@ -57,7 +60,7 @@ public class HoverTest extends BaseTest {
 
     @Test
     @DisplayName("Test Multiple Hover Interactions")
-    public void testMultipleHoverInteractions() {
+    public void testMultipleHoverInteractions(WebDriver driver) {
         HoverPage hoverPage = new HoverPage(driver);
         hoverPage.navigateToHovers();
         
@@ -77,7 +80,7 @@ public class HoverTest extends BaseTest {
 
     @Test
     @DisplayName("Test Hover Caption Content")
-    public void testHoverCaptionContent() {
+    public void testHoverCaptionContent(WebDriver driver) {
         HoverPage hoverPage = new HoverPage(driver);
         hoverPage.navigateToHovers();
         
@@ -2,24 +2,29 @@ package tests;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
+import org.openqa.selenium.WebDriver;
 import pages.LoginPage;
+import pages.LoginPageState;
+import utils.StartsOn;
 import static org.junit.jupiter.api.Assertions.*;
 
+@StartsOn("/login")
 public class LoginTest extends BaseTest {
 
     @Test
     @DisplayName("Test Login dengan Username dan Password Valid")
-    public void testValidLogin() {
+    public void testValidLogin(WebDriver driver) {
         LoginPage loginPage = new LoginPage(driver);
         
         // Credentials valid untuk The Internet Herokuapp
         loginPage.login("tomsmith", "SuperSecretPassword!");
         
-        // Verifikasi login berhasil
-        assertTrue(loginPage.isLoginSuccessful(), "Login should be successful with valid credentials");
-        assertTrue(loginPage.isLogoutButtonVisible(), "Logout button should be visible after successful login");
+        // Verifikasi login berhasil, semua dicek dari satu snapshot halaman
+        LoginPageState state = loginPage.getState();
+        assertTrue(state.isLoginSuccessful(), "Login should be successful with valid credentials");
+        assertTrue(state.isLogoutButtonVisible(), "Logout button should be visible after successful login");
         
-        String flashMessage = loginPage.getFlashMessage();
+        String flashMessage = state.getFlashMessage();
         assertTrue(flashMessage.contains("You logged into a secure area!"), 
                   "Flash message should indicate successful login");
         
@@ -29,17 +34,18 @@ public class LoginTest extends BaseTest {
 
     @Test
     @DisplayName("Test Login dengan Username Invalid")
-    public void testInvalidUsername() {
+    public void testInvalidUsername(WebDriver driver) {
         LoginPage loginPage = new LoginPage(driver);
         
         // Username invalid, password valid
         loginPage.login("invaliduser", "SuperSecretPassword!");
         
         // Verifikasi login gagal
-        assertTrue(loginPage.isLoginFailed(), "Login should fail with invalid username");
-        assertFalse(loginPage.isLogoutButtonVisible(), "Logout button should not be visible after failed login");
+        LoginPageState state = loginPage.getState();
+        assertTrue(state.isLoginFailed(), "Login should fail with invalid username");
+        assertFalse(state.isLogoutButtonVisible(), "Logout button should not be visible after failed login");
         
-        String flashMessage = loginPage.getFlashMessage();
+        String flashMessage = state.getFlashMessage();
         assertTrue(flashMessage.contains("Your username is invalid!"), 
                   "Flash message should indicate invalid username");
         
@@ -49,17 +55,18 @@ public class LoginTest extends BaseTest {
 
     @Test
     @DisplayName("Test Login dengan Password Invalid")
-    public void testInvalidPassword() {
+    public void testInvalidPassword(WebDriver driver) {
         LoginPage loginPage = new LoginPage(driver);
         
         // Username valid, password invalid
         loginPage.login("tomsmith", "wrongpassword");
         
         // Verifikasi login gagal
-        assertTrue(loginPage.isLoginFailed(), "Login should fail with invalid password");
-        assertFalse(loginPage.isLogoutButtonVisible(), "Logout button should not be visible after failed login");
+        LoginPageState state = loginPage.getState();
+        assertTrue(state.isLoginFailed(), "Login should fail with invalid password");
+        assertFalse(state.isLogoutButtonVisible(), "Logout button should not be visible after failed login");
         
-        String flashMessage = loginPage.getFlashMessage();
+        String flashMessage = state.getFlashMessage();
         assertTrue(flashMessage.contains("Your password is invalid!"), 
                   "Flash message should indicate invalid password");
         
@@ -69,7 +76,7 @@ public class LoginTest extends BaseTest {
 
     @Test
     @DisplayName("Test Login dan Logout")
-    public void testLoginAndLogout() {
+    public void testLoginAndLogout(WebDriver driver) {
         LoginPage loginPage = new LoginPage(driver);
         
         // Login dengan credentials valid
@@ -80,10 +87,11 @@ public class LoginTest extends BaseTest {
         loginPage.clickLogoutButton();
         
         // Verifikasi kembali ke halaman login
-        String currentUrl = driver.getCurrentUrl();
-        assertTrue(currentUrl.contains("/login"), "Should be redirected to login page after logout");
+        LoginPageState state = loginPage.getState();
+        assertTrue(state.getUrl().contains("/login"), "Should be redirected to login page after logout");
+        assertFalse(state.isLogoutButtonVisible(), "Logout button should be gone after logout");
         
-        String flashMessage = loginPage.getFlashMessage();
+        String flashMessage = state.getFlashMessage();
         assertTrue(flashMessage.contains("You logged out of the secure area!"), 
                   "Flash message should indicate successful logout");
         
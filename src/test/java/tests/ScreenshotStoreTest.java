@@ -0,0 +1,210 @@
+package tests;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.AllureResultsWriter;
+import io.qameta.allure.model.Attachment;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.model.TestResultContainer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.api.parallel.Isolated;
+import utils.ArtifactPipeline;
+import utils.ScreenshotEncoding;
+import utils.ScreenshotStore;
+import utils.ScreenshotTranscoder;
+import utils.ScreenshotWriter;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Screenshot store dedup and the fallback when a capture cannot be transcoded - browser-free,
+ * captures are built from generated images
+ */
+@Isolated // Statistik store global; test lain yang mengambil screenshot tidak boleh jalan bersamaan
+public class ScreenshotStoreTest {
+
+    private static final ScreenshotEncoding JPEG = new ScreenshotEncoding(ScreenshotEncoding.Format.JPEG, 0.8f, 0);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Identical captures share one file")
+    public void testIdenticalCapturesShareOneBlob() throws Exception {
+        byte[] data = png();
+        ArtifactPipeline.Capture first = capture("login_FAILED", data);
+        ArtifactPipeline.Capture second = capture("logout_FAILED", data);
+
+        ScreenshotStore.save(first, directory, ScreenshotEncoding.ORIGINAL);
+        double ratioAfterFirst = ScreenshotStore.getDedupRatio();
+        long avoidedAfterFirst = ScreenshotStore.getBytesAvoided();
+        ScreenshotStore.save(second, directory, ScreenshotEncoding.ORIGINAL);
+        flush();
+
+        Path blob = directory.resolve(first.getSha256() + ".png");
+        assertEquals(blob.toString(), first.getPath());
+        assertEquals(blob.toString(), second.getPath(), "The second capture should reference the same file");
+        try (var files = Files.list(directory)) {
+            assertEquals(List.of(blob.getFileName().toString()), files.map(file -> file.getFileName().toString())
+                    .filter(name -> !name.equals(ScreenshotStore.INDEX_FILE)).collect(Collectors.toList()),
+                    "Only one screenshot file should be written");
+        }
+        assertArrayEquals(data, Files.readAllBytes(blob));
+
+        List<String> index = Files.readAllLines(directory.resolve(ScreenshotStore.INDEX_FILE));
+        assertEquals(2, index.size(), "index.csv should have a row per capture: " + index);
+        assertTrue(index.get(0).endsWith(",login_FAILED," + blob.getFileName()));
+        assertTrue(index.get(1).endsWith(",logout_FAILED," + blob.getFileName()));
+
+        // Store bersifat global per JVM, jadi yang dicek perubahannya
+        assertTrue(ScreenshotStore.getDedupRatio() > ratioAfterFirst, "A second reference should raise the dedup ratio");
+        assertEquals(avoidedAfterFirst + data.length, ScreenshotStore.getBytesAvoided(),
+                "The second capture should count as one PNG not written");
+    }
+
+    @Test
+    @DisplayName("Unreadable PNG is stored as <sha>.png")
+    public void testUnreadablePngKeepsOriginalName() throws Exception {
+        byte[] data = ("not a png " + UUID.randomUUID()).getBytes(StandardCharsets.UTF_8);
+        ArtifactPipeline.Capture capture = capture("unreadable", data);
+
+        Path file = ScreenshotStore.save(capture, directory, JPEG);
+        flush();
+
+        assertStoredAsPng(capture, data);
+        assertEquals(file.toString(), capture.getPath(), "The returned file should be the capture's path");
+    }
+
+    @Test
+    @DisplayName("PNG that fails while transcoding is repointed to <sha>.png")
+    public void testTruncatedPngFallsBackToOriginalName() throws Exception {
+        byte[] data = truncatedPng();
+        ArtifactPipeline.Capture capture = capture("truncated", data);
+        assertTrue(ScreenshotTranscoder.canDecode(capture), "The header is valid, only the pixels are missing");
+
+        ScreenshotStore.save(capture, directory, JPEG);
+        flush();
+
+        assertStoredAsPng(capture, data);
+    }
+
+    @Test
+    @DisplayName("Allure attachment of a failed transcode is image/png")
+    public void testAllureAttachmentFallback() throws Exception {
+        byte[] data = truncatedPng();
+        ArtifactPipeline.Capture capture = capture("allure", data);
+        String expected = capture.getSha256() + ".png";
+
+        MemoryWriter writer = new MemoryWriter();
+        AllureLifecycle previous = Allure.getLifecycle();
+        Allure.setLifecycle(new AllureLifecycle(writer));
+        try {
+            String uuid = UUID.randomUUID().toString();
+            Allure.getLifecycle().scheduleTestCase(new TestResult().setUuid(uuid).setName("fallback"));
+            Allure.getLifecycle().startTestCase(uuid);
+            ScreenshotStore.attach(capture, JPEG);
+            Allure.getLifecycle().stopTestCase(uuid);
+            // Result ditulis tanpa flush: listener harus menunggu transcoding sendiri
+            Allure.getLifecycle().writeTestCase(uuid);
+        } finally {
+            Allure.setLifecycle(previous);
+        }
+        flush();
+
+        assertEquals(1, writer.results.size(), "One test result should be written");
+        List<Attachment> attachments = writer.results.get(0).getAttachments();
+        assertEquals(1, attachments.size());
+        assertEquals(expected, attachments.get(0).getSource(), "The attachment should point at the original PNG");
+        assertEquals("image/png", attachments.get(0).getType());
+        assertArrayEquals(data, writer.attachments.get(expected), "The PNG bytes should be written under <sha>.png");
+        assertTrue(writer.attachments.keySet().stream().noneMatch(name -> name.endsWith(".jpg")),
+                "Nothing should be written as .jpg: " + writer.attachments.keySet());
+    }
+
+    private void assertStoredAsPng(ArtifactPipeline.Capture capture, byte[] data) throws IOException {
+        String expected = capture.getSha256() + ".png";
+        assertEquals(directory.resolve(expected).toString(), capture.getPath(), "The capture should point at <sha>.png");
+        assertArrayEquals(data, Files.readAllBytes(directory.resolve(expected)), "The original bytes should be stored");
+        try (var files = Files.list(directory)) {
+            assertTrue(files.noneMatch(file -> file.toString().endsWith(".jpg")), "Nothing should be written as .jpg");
+        }
+        List<String> index = Files.readAllLines(directory.resolve(ScreenshotStore.INDEX_FILE));
+        assertTrue(index.get(index.size() - 1).endsWith("," + capture.getName() + "," + expected),
+                "index.csv should map the capture to <sha>.png: " + index);
+    }
+
+    private static void flush() {
+        assertTrue(ScreenshotTranscoder.flush(), "Transcoder should finish");
+        assertTrue(ScreenshotWriter.flush(), "Writer should finish");
+    }
+
+    private static ArtifactPipeline.Capture capture(String name, byte[] data) {
+        return new ArtifactPipeline.Capture(name, Base64.getEncoder().encodeToString(data));
+    }
+
+    /**
+     * Valid PNG header of a random image, cut off in the middle of the pixel data
+     */
+    private static byte[] truncatedPng() throws IOException {
+        byte[] png = png();
+        return Arrays.copyOf(png, png.length / 2);
+    }
+
+    /**
+     * PNG of random pixels, so every call is a new blob
+     */
+    private static byte[] png() throws IOException {
+        BufferedImage image = new BufferedImage(64, 64, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                image.setRGB(x, y, ThreadLocalRandom.current().nextInt());
+            }
+        }
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", png);
+        return png.toByteArray();
+    }
+
+    private static class MemoryWriter implements AllureResultsWriter {
+        private final List<TestResult> results = new CopyOnWriteArrayList<>();
+        private final Map<String, byte[]> attachments = new ConcurrentHashMap<>();
+
+        @Override
+        public void write(TestResult testResult) {
+            results.add(testResult);
+        }
+
+        @Override
+        public void write(TestResultContainer container) {
+        }
+
+        @Override
+        public void write(String source, InputStream attachment) {
+            try {
+                attachments.put(source, attachment.readAllBytes());
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package tests;
+
+import org.junit.platform.engine.FilterResult;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.junit.platform.launcher.PostDiscoveryFilter;
+import utils.TestDurationHistory;
+import utils.TestSharder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Removes the JUnit tests that belong to other shards (-Dshard.index / -Dshard.total) right after
+ * discovery, so they are not even reported as skipped. The split is computed once per engine from
+ * the complete discovered tree, weighted by TestDurationHistory.
+ * Registered in META-INF/services/org.junit.platform.launcher.PostDiscoveryFilter
+ */
+public class ShardFilter implements PostDiscoveryFilter {
+
+    private final Map<String, Map<String, Integer>> assignmentsByEngine = new ConcurrentHashMap<>();
+
+    @Override
+    public FilterResult apply(TestDescriptor descriptor) {
+        if (!TestSharder.isEnabled() || !descriptor.isTest()) {
+            return FilterResult.included("not sharded");
+        }
+        String testId = testId(descriptor);
+        if (testId == null) {
+            return FilterResult.included("no method source");
+        }
+
+        TestDescriptor engine = root(descriptor);
+        Map<String, Integer> assignment = assignmentsByEngine.computeIfAbsent(
+                engine.getUniqueId().toString(), key -> assign(engine));
+        int shard = TestSharder.getShardIndex();
+        return assignment.getOrDefault(testId, shard) == shard
+                ? FilterResult.included("shard " + shard)
+                : FilterResult.excluded("belongs to shard " + assignment.get(testId));
+    }
+
+    private static Map<String, Integer> assign(TestDescriptor engine) {
+        Map<String, Long> weights = new LinkedHashMap<>();
+        for (TestDescriptor test : engine.getDescendants()) {
+            String testId = test.isTest() ? testId(test) : null;
+            if (testId != null) {
+                weights.put(testId, TestDurationHistory.estimate(testId));
+            }
+        }
+        int total = TestSharder.getShardTotal();
+        Map<String, Integer> assignment = TestSharder.assign(weights, total);
+        long[] loads = TestSharder.loads(weights, assignment, total);
+        System.out.println("🔀 Shard " + TestSharder.getShardIndex() + "/" + total + ": expected "
+                + loads[TestSharder.getShardIndex()] + " ms of " + weights.size() + " JUnit tests");
+        return assignment;
+    }
+
+    private static String testId(TestDescriptor descriptor) {
+        return descriptor.getSource()
+                .filter(MethodSource.class::isInstance)
+                .map(MethodSource.class::cast)
+                .map(source -> TestDurationHistory.testId(source.getJavaClass(), source.getMethodName()))
+                .orElse(null);
+    }
+
+    private static TestDescriptor root(TestDescriptor descriptor) {
+        TestDescriptor current = descriptor;
+        while (current.getParent().isPresent()) {
+            current = current.getParent().get();
+        }
+        return current;
+    }
+}